@@ -0,0 +1,74 @@
+package org.example.benchmarks;
+
+import org.example.ColumnDataset;
+import org.example.FittedModels;
+import org.example.IncrementalRegression;
+import org.example.Main;
+import org.example.MmreFitness;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the fitness kernels and of the cheap model fits. One PSO fitness evaluation
+ * is the unit that a 30 x 100 swarm repeats 3,000 times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FitBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int rows;
+
+    private ColumnDataset data;
+    private double[] klocs;
+    private double[] actualEfforts;
+    private double[][] rowMajor;
+    private double[] predicted;
+    private MmreFitness fitness;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticData.generate(rows, 42);
+        klocs = data.klocs();
+        actualEfforts = data.actualEfforts();
+        rowMajor = new double[rows][];
+        predicted = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            rowMajor[i] = new double[]{data.kloc(i), data.method(i), data.actualEffort(i)};
+            predicted[i] = FittedModels.COCOMO_A * Math.pow(data.kloc(i), FittedModels.COCOMO_B) * (data.method(i) / 30.0);
+        }
+        fitness = new MmreFitness(data);
+    }
+
+    /** The per-particle body of the original runPSO: two arrays, pow per row, then calculateMMRE. */
+    @Benchmark
+    public double legacyRowMajorFitness() {
+        double[] actual = new double[rowMajor.length];
+        double[] pred = new double[rowMajor.length];
+        for (int i = 0; i < rowMajor.length; i++) {
+            actual[i] = rowMajor[i][2];
+            pred[i] = 2.5 * Math.pow(rowMajor[i][0], 0.95) * (rowMajor[i][1] / 30.0);
+        }
+        return Main.calculateMMRE(actual, pred);
+    }
+
+    @Benchmark
+    public double columnFitness() {
+        return fitness.evaluate(2.5, 0.95);
+    }
+
+    @Benchmark
+    public double calculateMmre() {
+        return Main.calculateMMRE(actualEfforts, predicted);
+    }
+
+    @Benchmark
+    public IncrementalRegression fitRegression() {
+        return IncrementalRegression.fit(klocs, actualEfforts);
+    }
+}
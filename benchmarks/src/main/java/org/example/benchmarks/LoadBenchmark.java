@@ -0,0 +1,87 @@
+package org.example.benchmarks;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.example.BinaryDataset;
+import org.example.ColumnDataset;
+import org.example.DatasetLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of getting a history into memory: the old POI DOM path against streaming XLSX, CSV and
+ * the memory-mapped binary format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int rows;
+
+    private Path dir;
+    private Path xlsx;
+    private Path csv;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ColumnDataset data = SyntheticData.generate(rows, 42);
+        dir = Files.createTempDirectory("effort-bench");
+        xlsx = dir.resolve("history.xlsx");
+        csv = dir.resolve("history.csv");
+        binary = dir.resolve("history" + BinaryDataset.EXTENSION);
+        SyntheticData.writeXlsx(data, xlsx);
+        SyntheticData.writeCsv(data, csv);
+        BinaryDataset.write(data, binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public double xssfWorkbook() throws IOException {
+        double sum = 0;
+        try (InputStream in = Files.newInputStream(xlsx); Workbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                sum += row.getCell(0).getNumericCellValue() + row.getCell(1).getNumericCellValue()
+                        + row.getCell(2).getNumericCellValue();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ColumnDataset streamingXlsx() throws IOException {
+        return DatasetLoader.load(xlsx);
+    }
+
+    @Benchmark
+    public ColumnDataset csv() throws IOException {
+        return DatasetLoader.load(csv);
+    }
+
+    @Benchmark
+    public ColumnDataset binary() throws IOException {
+        return DatasetLoader.load(binary);
+    }
+}
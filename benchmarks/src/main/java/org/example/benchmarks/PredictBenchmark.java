@@ -0,0 +1,62 @@
+package org.example.benchmarks;
+
+import org.example.ColumnDataset;
+import org.example.FittedModels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving cost once models are fitted: single predictions and a batch over every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PredictBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int rows;
+
+    private double[] klocs;
+    private double[] methods;
+    private FittedModels models;
+    private double kloc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ColumnDataset data = SyntheticData.generate(rows, 42);
+        klocs = data.klocs();
+        methods = data.methods();
+        models = new FittedModels(data.fingerprint(), "pso", 1.37, 3.45, 2.11, 0.88, 0, 0, 0);
+        kloc = 42.5;
+    }
+
+    @Benchmark
+    public double predictCocomo() {
+        return models.predictCocomo(kloc, 30);
+    }
+
+    @Benchmark
+    public double predictRegression() {
+        return models.predictRegression(kloc);
+    }
+
+    @Benchmark
+    public double predictPso() {
+        return models.predictPso(kloc, 30);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void predictBatch(Blackhole bh) {
+        for (int i = 0; i < klocs.length; i++) {
+            bh.consume(models.predictCocomo(klocs[i], methods[i]));
+            bh.consume(models.predictRegression(klocs[i]));
+            bh.consume(models.predictPso(klocs[i], methods[i]));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.benchmarks;
+
+import org.example.ColumnDataset;
+import org.example.MmreFitness;
+import org.example.ParallelSwarm;
+import org.example.Particle;
+import org.example.SwarmConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full PSO fit across dataset and swarm sizes, single-threaded and on all cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PsoBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int rows;
+
+    @Param({"10", "30", "100"})
+    public int particles;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private MmreFitness fitness;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ColumnDataset data = SyntheticData.generate(rows, 42);
+        fitness = new MmreFitness(data);
+    }
+
+    @Benchmark
+    public Particle fitPso() {
+        SwarmConfig config = new SwarmConfig(particles, 100, 7);
+        if (threads > 0) config.threads = threads;
+        return new ParallelSwarm(fitness, config).run();
+    }
+}
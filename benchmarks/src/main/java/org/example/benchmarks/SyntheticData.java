@@ -0,0 +1,66 @@
+package org.example.benchmarks;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.example.ColumnDataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic project histories shaped like data.xlsx, for benchmarks.
+ */
+final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    static ColumnDataset generate(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] klocs = new double[rows];
+        double[] methods = new double[rows];
+        double[] actualEfforts = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            klocs[i] = 1 + random.nextDouble() * 120;
+            methods[i] = 18 + random.nextInt(18);
+            double noise = 0.7 + 0.6 * random.nextDouble();
+            actualEfforts[i] = 2.1 * Math.pow(klocs[i], 0.9) * (methods[i] / 30.0) * noise;
+        }
+        return new ColumnDataset(klocs, methods, actualEfforts);
+    }
+
+    static void writeCsv(ColumnDataset data, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("KLOC,Method,Effort");
+            out.newLine();
+            for (int i = 0; i < data.size(); i++) {
+                out.write(data.kloc(i) + "," + data.method(i) + "," + data.actualEffort(i));
+                out.newLine();
+            }
+        }
+    }
+
+    static void writeXlsx(ColumnDataset data, Path file) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("KLOC");
+            header.createCell(1).setCellValue("Method");
+            header.createCell(2).setCellValue("Effort");
+            for (int i = 0; i < data.size(); i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(data.kloc(i));
+                row.createCell(1).setCellValue(data.method(i));
+                row.createCell(2).setCellValue(data.actualEffort(i));
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+}
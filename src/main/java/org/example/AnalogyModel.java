@@ -0,0 +1,211 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Analogy-based estimation: the effort of a new project is the mean effort of the {@code k} most
+ * similar historical projects, where similarity is Euclidean distance over KLOC and method, each
+ * min-max normalised to [0, 1] over the history.
+ * <p>
+ * Neighbours are found through a 2-d tree built once over copies of the columns. The tree is
+ * implicit: the points are reordered so that the median of every range sits at its midpoint, so
+ * it needs no node objects and a lookup touches O(log n) points on typical data. Instances are
+ * immutable and safe to share between threads.
+ */
+public final class AnalogyModel {
+
+    public static final int DEFAULT_K = 3;
+
+    private final int k;
+    private final double klocMin, klocScale;
+    private final double methodMin, methodScale;
+
+    // Tree order: the node of range [lo, hi) is at (lo + hi) >>> 1 and splits on x at even depths.
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] efforts;
+    private final int[] rows;
+
+    private AnalogyModel(int k, double[] klocs, double[] methods, double[] actualEfforts, int[] subset) {
+        if (k < 1) throw new IllegalArgumentException("k must be at least 1");
+        int n = subset == null ? klocs.length : subset.length;
+        this.k = k;
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.efforts = new double[n];
+        this.rows = new int[n];
+
+        double kMin = Double.POSITIVE_INFINITY, kMax = Double.NEGATIVE_INFINITY;
+        double mMin = Double.POSITIVE_INFINITY, mMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            int r = subset == null ? i : subset[i];
+            kMin = Math.min(kMin, klocs[r]);
+            kMax = Math.max(kMax, klocs[r]);
+            mMin = Math.min(mMin, methods[r]);
+            mMax = Math.max(mMax, methods[r]);
+        }
+        // A constant feature carries no similarity information, so it is scaled to nothing.
+        this.klocMin = kMin;
+        this.klocScale = kMax > kMin ? 1 / (kMax - kMin) : 0;
+        this.methodMin = mMin;
+        this.methodScale = mMax > mMin ? 1 / (mMax - mMin) : 0;
+
+        for (int i = 0; i < n; i++) {
+            int r = subset == null ? i : subset[i];
+            xs[i] = (klocs[r] - klocMin) * klocScale;
+            ys[i] = (methods[r] - methodMin) * methodScale;
+            efforts[i] = actualEfforts[r];
+            rows[i] = r;
+        }
+        build(0, n, 0);
+    }
+
+    public static AnalogyModel fit(ColumnDataset dataset) {
+        return fit(dataset, null, DEFAULT_K);
+    }
+
+    /** Indexes only the given rows of {@code dataset} (a training fold), or all rows when null. */
+    public static AnalogyModel fit(ColumnDataset dataset, int[] rows, int k) {
+        return new AnalogyModel(k, dataset.klocs, dataset.methods, dataset.actualEfforts, rows);
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double predict(double kloc, double method) {
+        return predictExcluding(kloc, method, -1);
+    }
+
+    /**
+     * As {@link #predict}, ignoring the history row {@code excludedRow} (an index into the
+     * dataset this model was fitted on), so a project is never its own analogue.
+     */
+    public double predictExcluding(double kloc, double method, int excludedRow) {
+        return nearestMean((kloc - klocMin) * klocScale, (method - methodMin) * methodScale, excludedRow);
+    }
+
+    private double nearestMean(double x, double y, int excludedRow) {
+        Neighbours found = new Neighbours(Math.min(k, size() - (excludedRow >= 0 ? 1 : 0)));
+        if (found.capacity <= 0) return Double.NaN;
+        search(0, xs.length, 0, x, y, excludedRow, found);
+        double sum = 0;
+        for (int i = 0; i < found.count; i++) sum += efforts[found.index[i]];
+        return sum / found.count;
+    }
+
+    /**
+     * Leave-one-out MMRE over the indexed rows: each project is predicted from its k nearest
+     * other projects. Errors are computed in parallel but summed in row order, so the result
+     * does not depend on the thread count.
+     */
+    public double leaveOneOutMmre() {
+        int n = xs.length;
+        if (n < 2) return Double.NaN;
+        double[] errors = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double predicted = nearestMean(xs[i], ys[i], rows[i]);
+            errors[i] = Math.abs(efforts[i] - predicted) / efforts[i];
+        });
+        double sum = 0;
+        for (double e : errors) sum += e;
+        return sum / n;
+    }
+
+    /**
+     * Leave-one-out prediction for every indexed row, indexed by dataset row; rows outside the
+     * fitted subset are NaN.
+     */
+    public double[] leaveOneOutPredictions() {
+        int maxRow = -1;
+        for (int r : rows) maxRow = Math.max(maxRow, r);
+        double[] predictions = new double[maxRow + 1];
+        Arrays.fill(predictions, Double.NaN);
+        if (xs.length < 2) return predictions;
+        IntStream.range(0, xs.length).parallel().forEach(i -> predictions[rows[i]] = nearestMean(xs[i], ys[i], rows[i]));
+        return predictions;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, (depth & 1) == 0 ? xs : ys);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    /** Quickselect on {@code keys} over [lo, hi], moving the other columns along with it. */
+    private void select(int lo, int hi, int target, double[] keys) {
+        while (hi > lo) {
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (target <= j) hi = j;
+            else if (target >= i) lo = i;
+            else return;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double x = xs[i]; xs[i] = xs[j]; xs[j] = x;
+        double y = ys[i]; ys[i] = ys[j]; ys[j] = y;
+        double e = efforts[i]; efforts[i] = efforts[j]; efforts[j] = e;
+        int r = rows[i]; rows[i] = rows[j]; rows[j] = r;
+    }
+
+    private void search(int lo, int hi, int depth, double x, double y, int excludedRow, Neighbours found) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (rows[mid] != excludedRow) {
+            double dx = xs[mid] - x, dy = ys[mid] - y;
+            found.offer(mid, dx * dx + dy * dy);
+        }
+        double delta = (depth & 1) == 0 ? x - xs[mid] : y - ys[mid];
+        boolean leftFirst = delta < 0;
+        if (leftFirst) search(lo, mid, depth + 1, x, y, excludedRow, found);
+        else search(mid + 1, hi, depth + 1, x, y, excludedRow, found);
+        if (delta * delta <= found.worst()) {
+            if (leftFirst) search(mid + 1, hi, depth + 1, x, y, excludedRow, found);
+            else search(lo, mid, depth + 1, x, y, excludedRow, found);
+        }
+    }
+
+    /** The k closest points so far, kept sorted by distance; k is small, so insertion is cheapest. */
+    private static final class Neighbours {
+        final int capacity;
+        final int[] index;
+        final double[] distance;
+        int count;
+
+        Neighbours(int capacity) {
+            this.capacity = capacity;
+            this.index = new int[Math.max(0, capacity)];
+            this.distance = new double[Math.max(0, capacity)];
+        }
+
+        double worst() {
+            return count < capacity ? Double.POSITIVE_INFINITY : distance[count - 1];
+        }
+
+        void offer(int i, double d) {
+            if (count == capacity && d >= distance[count - 1]) return;
+            int pos = count < capacity ? count++ : count - 1;
+            while (pos > 0 && distance[pos - 1] > d) {
+                index[pos] = index[pos - 1];
+                distance[pos] = distance[pos - 1];
+                pos--;
+            }
+            index[pos] = i;
+            distance[pos] = d;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package org.example;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless batch scoring. Streams a sheet of projects through the fitted COCOMO, regression and
+ * PSO models and writes the predictions to CSV, XLSX or a PDF {@link EffortReport} as it goes.
+ * A PDF report also carries the fitted models and, when set, cross-validation metrics and chart.
+ * <p>
+ * Rows are scored in fixed-size chunks on a worker pool. At most {@code 2 * threads} chunks are
+ * in flight, and they are written back in input order, so memory stays bounded whatever the input size.
+ * <p>
+ * Like {@link EffortReport}, every output is written to a {@code .part} sibling that only replaces
+ * the target once scoring succeeds, so a failed run leaves the previous output untouched.
+ * <p>
+ * {@link #main} exits with status 1 when scoring fails and 2 on a usage error, so schedulers
+ * notice a failed nightly run.
+ */
+public class BatchScorer {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final String[] HEADER = {
+            "Row", "KLOC", "Method", "Actual Effort", "COCOMO Effort", "Regression Effort", "PSO Effort"};
+
+    private final FittedModels models;
+    private final int threads;
+    private CrossValidationResult validation;
+
+    public BatchScorer(FittedModels models, int threads) {
+        this.models = models;
+        this.threads = Math.max(1, threads);
+    }
+
+    /** Cross-validation summary to include in PDF reports. */
+    public BatchScorer withValidation(CrossValidationResult validation) {
+        this.validation = validation;
+        return this;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchScorer <input.xlsx|input.csv> <output.csv|output.xlsx|output.pdf> "
+                    + "[--threads N] [--history data.xlsx|data.effbin]");
+            System.exit(2);
+        }
+        try {
+            Path input = Path.of(args[0]);
+            Path output = Path.of(args[1]);
+            int threads = Runtime.getRuntime().availableProcessors();
+            Path history = null;
+            for (int i = 2; i < args.length; i++) {
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                switch (args[i]) {
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--history" -> history = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (!Files.isReadable(input)) {
+                System.err.println("Cannot read input " + input);
+                System.exit(2);
+            }
+
+            long fitStart = System.nanoTime();
+            ColumnDataset dataset = history == null ? DatasetLoader.loadDefault() : DatasetLoader.load(history);
+            FittedModels models = ModelCache.get(dataset);
+            System.out.printf("Fitted models on %d projects in %.1f ms%n", dataset.size(), (System.nanoTime() - fitStart) / 1e6);
+
+            BatchScorer scorer = new BatchScorer(models, threads);
+            if (output.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+                long cvStart = System.nanoTime();
+                scorer.withValidation(new CrossValidator(dataset).kFold(Math.min(10, dataset.size()), 42));
+                System.out.printf("Cross-validated in %.1f ms%n", (System.nanoTime() - cvStart) / 1e6);
+            }
+
+            long start = System.nanoTime();
+            LoadReport report = scorer.score(input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Scored %d projects (%d skipped) in %.2f s: %.0f rows/s with %d threads%n",
+                    report.getRowsAccepted(), report.getRowsSkipped(), seconds,
+                    report.getRowsAccepted() / Math.max(seconds, 1e-9), threads);
+            for (String issue : report.getIssues()) {
+                System.out.println("  " + issue);
+            }
+            System.out.println("Results written to " + output);
+        } catch (Exception e) {
+            System.err.println("Batch scoring failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    public LoadReport score(Path input, Path output) throws IOException {
+        LoadReport report = new LoadReport();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (ResultWriter writer = openWriter(output)) {
+            writer.writeHeader();
+            ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+            Chunk[] current = {new Chunk()};
+
+            ProjectReader.read(input, (rowNumber, kloc, method, actualEffort) -> {
+                if (!(kloc > 0)) {
+                    report.skip(rowNumber, "KLOC missing or not positive");
+                    return;
+                }
+                report.accept();
+                Chunk chunk = current[0];
+                chunk.add(rowNumber, kloc, Double.isNaN(method) ? 30 : method, actualEffort);
+                if (chunk.size == CHUNK_SIZE) {
+                    inFlight.add(pool.submit(() -> chunk.score(models)));
+                    current[0] = new Chunk();
+                    if (inFlight.size() >= 2 * threads) {
+                        writeNext(inFlight, writer);
+                    }
+                }
+            });
+
+            if (current[0].size > 0) {
+                Chunk last = current[0];
+                inFlight.add(pool.submit(() -> last.score(models)));
+            }
+            while (!inFlight.isEmpty()) {
+                writeNext(inFlight, writer);
+            }
+            writer.finish();
+        } finally {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+
+    private static void writeNext(ArrayDeque<Future<Chunk>> inFlight, ResultWriter writer) {
+        try {
+            writer.write(inFlight.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scoring", e);
+        } catch (ExecutionException | IOException e) {
+            throw new IllegalStateException("Scoring failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Chunk {
+        final int[] rows = new int[CHUNK_SIZE];
+        final double[] klocs = new double[CHUNK_SIZE];
+        final double[] methods = new double[CHUNK_SIZE];
+        final double[] actualEfforts = new double[CHUNK_SIZE];
+        final double[] cocomo = new double[CHUNK_SIZE];
+        final double[] regression = new double[CHUNK_SIZE];
+        final double[] pso = new double[CHUNK_SIZE];
+        int size;
+
+        void add(int row, double kloc, double method, double actualEffort) {
+            rows[size] = row;
+            klocs[size] = kloc;
+            methods[size] = method;
+            actualEfforts[size] = actualEffort;
+            size++;
+        }
+
+        Chunk score(FittedModels models) {
+            for (int i = 0; i < size; i++) {
+                cocomo[i] = models.predictCocomo(klocs[i], methods[i]);
+                regression[i] = models.predictRegression(klocs[i]);
+                pso[i] = models.predictPso(klocs[i], methods[i]);
+            }
+            return this;
+        }
+    }
+
+    private interface ResultWriter extends Closeable {
+        void writeHeader() throws IOException;
+
+        void write(Chunk chunk) throws IOException;
+
+        /** Called once every chunk is written; a writer closed without it may discard its output. */
+        default void finish() throws IOException {
+        }
+    }
+
+    private ResultWriter openWriter(Path output) throws IOException {
+        String name = output.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".pdf")) return new PdfWriter(output, models, validation);
+        return name.endsWith(".xlsx") ? new XlsxWriter(output) : new CsvWriter(output);
+    }
+
+    private static Path partFile(Path output) {
+        return output.toAbsolutePath().resolveSibling(output.getFileName() + ".part");
+    }
+
+    private static void moveIntoPlace(Path part, Path output) throws IOException {
+        try {
+            Files.move(part, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, output, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class PdfWriter implements ResultWriter {
+        private final EffortReport report;
+        private final FittedModels models;
+        private final CrossValidationResult validation;
+
+        PdfWriter(Path output, FittedModels models, CrossValidationResult validation) throws IOException {
+            this.report = EffortReport.create(output, "Effort Estimation Report");
+            this.models = models;
+            this.validation = validation;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            report.addModels(models);
+            if (validation != null) {
+                report.addCrossValidation(validation);
+                report.addChart(Charts.mmreComparison(validation), 480, 300);
+            }
+            report.beginProjects("Project estimates");
+        }
+
+        @Override
+        public void write(Chunk c) throws IOException {
+            for (int i = 0; i < c.size; i++) {
+                report.addProject(c.rows[i], c.klocs[i], c.methods[i], c.actualEfforts[i],
+                        c.cocomo[i], c.regression[i], c.pso[i]);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            report.finish();
+        }
+
+        @Override
+        public void close() throws IOException {
+            report.close();
+        }
+    }
+
+    private static final class CsvWriter implements ResultWriter {
+        private final Path output;
+        private final Path part;
+        private final BufferedWriter out;
+        private boolean finished;
+
+        CsvWriter(Path output) throws IOException {
+            this.output = output;
+            this.part = partFile(output);
+            this.out = Files.newBufferedWriter(part, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            out.write(String.join(",", HEADER));
+            out.newLine();
+        }
+
+        @Override
+        public void write(Chunk c) throws IOException {
+            for (int i = 0; i < c.size; i++) {
+                out.write(String.format(Locale.ROOT, "%d,%s,%s,%s,%.4f,%.4f,%.4f",
+                        c.rows[i], c.klocs[i], c.methods[i],
+                        Double.isNaN(c.actualEfforts[i]) ? "" : Double.toString(c.actualEfforts[i]),
+                        c.cocomo[i], c.regression[i], c.pso[i]));
+                out.newLine();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.close();
+            moveIntoPlace(part, output);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                if (!finished) Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private static final class XlsxWriter implements ResultWriter {
+        private final Path output;
+        private final SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        private final Sheet sheet = workbook.createSheet("Predictions");
+        private int nextRow;
+
+        XlsxWriter(Path output) {
+            this.output = output;
+        }
+
+        @Override
+        public void writeHeader() {
+            Row row = sheet.createRow(nextRow++);
+            for (int i = 0; i < HEADER.length; i++) {
+                row.createCell(i).setCellValue(HEADER[i]);
+            }
+        }
+
+        @Override
+        public void write(Chunk c) {
+            for (int i = 0; i < c.size; i++) {
+                Row row = sheet.createRow(nextRow++);
+                row.createCell(0).setCellValue(c.rows[i]);
+                row.createCell(1).setCellValue(c.klocs[i]);
+                row.createCell(2).setCellValue(c.methods[i]);
+                if (!Double.isNaN(c.actualEfforts[i])) row.createCell(3).setCellValue(c.actualEfforts[i]);
+                row.createCell(4).setCellValue(c.cocomo[i]);
+                row.createCell(5).setCellValue(c.regression[i]);
+                row.createCell(6).setCellValue(c.pso[i]);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            Path part = partFile(output);
+            try {
+                try (OutputStream out = Files.newOutputStream(part)) {
+                    workbook.write(out);
+                }
+                moveIntoPlace(part, output);
+            } finally {
+                Files.deleteIfExists(part);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
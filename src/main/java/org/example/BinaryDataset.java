@@ -0,0 +1,174 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compact columnar file for project histories, loaded with {@link FileChannel#map}.
+ * <pre>
+ *   offset  0  int    magic "EFFD"
+ *   offset  4  int    format version
+ *   offset  8  long   row count n
+ *   offset 16  long   CRC32 of the payload
+ *   offset 24  long   size of the source spreadsheet, or -1
+ *   offset 32  long   CRC32 of the source spreadsheet, or -1
+ *   offset 40  double[n] KLOC, double[n] method, double[n] actual effort
+ * </pre>
+ * Everything is little-endian. Files are written through a temporary file and a rename, so a
+ * reader never maps a half-written file, and rows are validated by the {@link RowSink} on read
+ * just as spreadsheet rows are. The {@link Source} stamp lets {@link DatasetLoader#loadCached}
+ * tell whether the spreadsheet changed since, whatever its modification time says.
+ */
+public final class BinaryDataset {
+
+    public static final String EXTENSION = ".effbin";
+
+    private static final int MAGIC = 0x44464645; // "EFFD" read little-endian
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 40;
+
+    /** Size and CRC32 of the file a dataset was converted from. */
+    public record Source(long size, long crc) {
+
+        /** Stamp of a dataset that was not converted from a file. */
+        public static final Source NONE = new Source(-1, -1);
+
+        public static Source of(Path file) throws IOException {
+            CRC32 crc = new CRC32();
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    crc.update(buffer);
+                    buffer.clear();
+                }
+            }
+            return new Source(size, crc.getValue());
+        }
+    }
+
+    private BinaryDataset() {
+    }
+
+    public static void write(ColumnDataset dataset, Path file) throws IOException {
+        write(dataset, file, Source.NONE);
+    }
+
+    /** Writes {@code dataset}, recording that it was converted from {@code source}. */
+    public static void write(ColumnDataset dataset, Path file, Source source) throws IOException {
+        int n = dataset.size();
+        ByteBuffer payload = ByteBuffer.allocateDirect(n * 3 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        payload.asDoubleBuffer().put(dataset.klocs).put(dataset.methods).put(dataset.actualEfforts);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(n).putLong(crc.getValue())
+                .putLong(source.size()).putLong(source.crc()).flip();
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) channel.write(header);
+                while (payload.hasRemaining()) channel.write(payload);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** The source stamp in {@code file}'s header, or null if it is not a readable dataset file. */
+    public static Source source(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) return null;
+            return new Source(header.getLong(24), header.getLong(32));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Reads {@code file}, dropping rows that {@link DatasetBuilder} rejects. */
+    public static ColumnDataset read(Path file) throws IOException {
+        DatasetBuilder builder = new DatasetBuilder();
+        read(file, builder);
+        return builder.build();
+    }
+
+    /** Streams every row of {@code file} into {@code sink}, numbered from 1. */
+    public static void read(Path file, RowSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) throw new IOException("Truncated dataset file: " + file);
+
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (map.getInt(0) != MAGIC) throw new IOException("Not a dataset file: " + file);
+            int version = map.getInt(4);
+            if (version != VERSION) throw new IOException("Unsupported dataset version " + version + ": " + file);
+            long rows = map.getLong(8);
+            long expectedCrc = map.getLong(16);
+            if (rows < 0 || rows > Integer.MAX_VALUE / (3 * Double.BYTES)
+                    || fileSize != HEADER_BYTES + rows * 3 * Double.BYTES) {
+                throw new IOException("Dataset file size does not match its header: " + file);
+            }
+            int n = (int) rows;
+
+            ByteBuffer payload = map.slice(HEADER_BYTES, n * 3 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != expectedCrc) throw new IOException("Dataset checksum mismatch: " + file);
+
+            DoubleBuffer columns = payload.asDoubleBuffer();
+            sink.expectRows(n);
+            for (int i = 0; i < n; i++) {
+                sink.accept(i + 1, columns.get(i), columns.get(n + i), columns.get(2 * n + i));
+            }
+        }
+    }
+
+    /**
+     * Converts an XLSX or CSV history to the binary format.
+     * Usage: {@code BinaryDataset <input.xlsx|input.csv> [output.effbin]}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: BinaryDataset <input.xlsx|input.csv> [output" + EXTENSION + "]");
+            System.exit(2);
+        }
+        try {
+            Path input = Path.of(args[0]);
+            Path output = args.length > 1 ? Path.of(args[1]) : DatasetLoader.binarySibling(input);
+            long start = System.nanoTime();
+            Source source = Source.of(input);
+            ColumnDataset dataset = DatasetLoader.load(input);
+            write(dataset, output, source);
+            System.out.printf("Wrote %d rows to %s in %.1f ms%n", dataset.size(), output, (System.nanoTime() - start) / 1e6);
+        } catch (Exception e) {
+            System.err.println("Conversion failed: " + e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bootstrap prediction intervals for the COCOMO, regression and PSO models.
+ * <p>
+ * Each of the B resamples draws n history rows with replacement as an index array over the
+ * shared {@link ColumnDataset} columns, refits regression and PSO (with the
+ * {@link Optimizers#configured() configured optimizer}) on it, and keeps one residual
+ * drawn from its own rows: additive for regression, a ratio {@code actual / predicted} for the
+ * multiplicative models. A prediction interval is then the percentile range of
+ * {@code model_b(x)} combined with residual {@code b} over all resamples, so it covers both the
+ * uncertainty in the coefficients and the scatter of individual projects. COCOMO's coefficients
+ * are fixed, so its interval comes from its residuals alone.
+ * <p>
+ * Resamples run on a worker pool. Every resample gets its own {@link SplittableRandom} split from
+ * the seed before any work starts and each refit is single-threaded, so results do not depend on
+ * the thread count. Each refit is warm-started only from its own rows (their log-linear fit and
+ * the COCOMO coefficients), never from the full-history optimum, so an early stop cannot pull the
+ * resamples together and narrow the intervals. Results are cached per
+ * dataset fingerprint and optimizer, like {@link ModelCache}, and computed outside any lock.
+ */
+public final class BootstrapIntervals {
+
+    public static final int DEFAULT_RESAMPLES = 1000;
+    public static final double DEFAULT_CONFIDENCE = 0.90;
+    private static final long DEFAULT_SEED = 42;
+
+    private static final int MAX_ENTRIES = 8;
+
+    private static final FutureCache<FittedModels.Key, BootstrapIntervals> CACHE = new FutureCache<>(MAX_ENTRIES, null, null);
+
+    private static final Metrics.Timer COMPUTE_TIME = Metrics.timer("bootstrap.compute", "Time to refit every bootstrap resample of a dataset");
+
+    /** Lower and upper bound of a prediction interval, in person-months. */
+    public record Interval(double lower, double upper) {
+        @Override
+        public String toString() {
+            return String.format("[%.2f, %.2f]", lower, upper);
+        }
+    }
+
+    private final double confidence;
+    private final double[] regressionSlopes;
+    private final double[] regressionIntercepts;
+    private final double[] regressionResiduals;
+    private final double[] psoAs;
+    private final double[] psoBs;
+    private final double[] psoRatios;
+    private final double[] cocomoRatios;
+    private long elapsedNanos;
+
+    private BootstrapIntervals(int resamples, double confidence) {
+        this.confidence = confidence;
+        this.regressionSlopes = new double[resamples];
+        this.regressionIntercepts = new double[resamples];
+        this.regressionResiduals = new double[resamples];
+        this.psoAs = new double[resamples];
+        this.psoBs = new double[resamples];
+        this.psoRatios = new double[resamples];
+        this.cocomoRatios = new double[resamples];
+    }
+
+    /**
+     * Cached {@link #DEFAULT_RESAMPLES}-resample, {@link #DEFAULT_CONFIDENCE} intervals for
+     * {@code dataset}, computing them on first use. {@code listener} sees one call per finished
+     * resample (iteration = resamples done) and may be null.
+     */
+    public static BootstrapIntervals get(ColumnDataset dataset, SwarmListener listener) throws InterruptedException {
+        FittedModels.Key key = ModelCache.key(dataset, Optimizers.configured());
+        return CACHE.get(key, () -> compute(dataset, DEFAULT_RESAMPLES, DEFAULT_CONFIDENCE,
+                DEFAULT_SEED, Runtime.getRuntime().availableProcessors(), listener));
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /** Refits {@code resamples} bootstrap resamples of {@code dataset} on {@code threads} workers. */
+    public static BootstrapIntervals compute(ColumnDataset dataset, int resamples,
+                                             double confidence, long seed, int threads,
+                                             SwarmListener listener) throws InterruptedException {
+        if (dataset.size() < 2) throw new IllegalArgumentException("Need at least two projects to bootstrap");
+        if (resamples < 1) throw new IllegalArgumentException("resamples must be positive");
+        if (!(confidence > 0 && confidence < 1)) throw new IllegalArgumentException("confidence must be in (0, 1)");
+        long start = System.nanoTime();
+        BootstrapIntervals result = new BootstrapIntervals(resamples, confidence);
+        Optimizer optimizer = Optimizers.configured();
+
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[resamples];
+        for (int b = 0; b < resamples; b++) randoms[b] = master.split();
+
+        int workers = Math.max(1, Math.min(threads, resamples));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<?>> futures = new ArrayList<>(workers);
+        AtomicInteger done = new AtomicInteger();
+        try {
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                futures.add(pool.submit(() -> {
+                    int[] rows = new int[dataset.size()];
+                    for (int b = worker; b < resamples; b += workers) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new CancellationException("Bootstrap cancelled");
+                        }
+                        result.resample(dataset, optimizer, b, randoms[b], rows);
+                        int finished = done.incrementAndGet();
+                        if (listener != null) listener.onIteration(finished, resamples, Double.NaN);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof CancellationException ce) throw ce;
+            throw new IllegalStateException("Bootstrap resample failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        COMPUTE_TIME.record(result.elapsedNanos);
+        return result;
+    }
+
+    /** Fits resample {@code b} into slot {@code b}; {@code rows} is the worker's scratch index. */
+    private void resample(ColumnDataset dataset, Optimizer optimizer, int b, SplittableRandom random, int[] rows) {
+        int n = rows.length;
+        for (int i = 0; i < n; i++) rows[i] = random.nextInt(n);
+
+        IncrementalRegression line = IncrementalRegression.fit(dataset.klocs, dataset.actualEfforts, rows);
+
+        SwarmConfig config = new SwarmConfig();
+        config.seed = random.nextLong();
+        config.threads = 1;
+        config.warmStarts = FittedModels.warmStarts(dataset, rows, null);
+        SwarmResult best = optimizer.fit(dataset, rows, config);
+
+        int r = rows[random.nextInt(n)];
+        double kloc = dataset.klocs[r];
+        double eaf = dataset.eafs[r];
+        double actual = dataset.actualEfforts[r];
+        regressionSlopes[b] = line.getSlope();
+        regressionIntercepts[b] = line.getIntercept();
+        regressionResiduals[b] = actual - line.predict(kloc);
+        psoAs[b] = best.a;
+        psoBs[b] = best.b;
+        psoRatios[b] = actual / (best.a * Math.pow(kloc, best.b) * eaf);
+        cocomoRatios[b] = actual / (FittedModels.COCOMO_A * Math.pow(kloc, FittedModels.COCOMO_B) * eaf);
+    }
+
+    public int resamples() {
+        return psoAs.length;
+    }
+
+    public double confidence() {
+        return confidence;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Interval cocomo(double kloc, double method) {
+        double point = FittedModels.COCOMO_A * Math.pow(kloc, FittedModels.COCOMO_B) * (method / 30.0);
+        double[] predictions = new double[cocomoRatios.length];
+        for (int b = 0; b < predictions.length; b++) {
+            predictions[b] = point * cocomoRatios[b];
+        }
+        return percentiles(predictions);
+    }
+
+    public Interval regression(double kloc) {
+        double[] predictions = new double[regressionSlopes.length];
+        for (int b = 0; b < predictions.length; b++) {
+            predictions[b] = regressionSlopes[b] * kloc + regressionIntercepts[b] + regressionResiduals[b];
+        }
+        return percentiles(predictions);
+    }
+
+    public Interval pso(double kloc, double method) {
+        double logKloc = Math.log(kloc);
+        double eaf = method / 30.0;
+        double[] predictions = new double[psoAs.length];
+        for (int b = 0; b < predictions.length; b++) {
+            predictions[b] = psoAs[b] * Math.exp(psoBs[b] * logKloc) * eaf * psoRatios[b];
+        }
+        return percentiles(predictions);
+    }
+
+    private Interval percentiles(double[] values) {
+        Arrays.sort(values);
+        double tail = (1 - confidence) / 2;
+        return new Interval(quantile(values, tail), quantile(values, 1 - tail));
+    }
+
+    /** Linear interpolation between order statistics of a sorted array. */
+    private static double quantile(double[] sorted, double p) {
+        double position = p * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(sorted.length - 1, lower + 1);
+        double fraction = position - lower;
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * fraction;
+    }
+}
@@ -0,0 +1,142 @@
+package org.example;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.annotations.XYLineAnnotation;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.ValueMarker;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYDotRenderer;
+import org.jfree.chart.title.TextTitle;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.DefaultXYDataset;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chart builders shared by the on-screen views and {@link EffortReport}. They only build the
+ * chart model, so they are safe to call off the EDT.
+ * <p>
+ * Scatter charts are thinned with {@link Downsampler} before they reach JFreeChart, so a
+ * million-project history draws a few thousand points rather than a million.
+ */
+public final class Charts {
+
+    /** Downsampling grid, a little finer than a typical chart panel's plot area. */
+    private static final int GRID_COLUMNS = 240;
+    private static final int GRID_ROWS = 160;
+
+    /** Analogy leave-one-out predictions cost a neighbour search per project; above this they are left out. */
+    public static final int ANALOGY_CHART_ROWS = 200_000;
+
+    private Charts() {
+    }
+
+    public static JFreeChart mmreComparison(CrossValidationResult cv) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        dataset.addValue(cv.cocomo.mmre, "MMRE", "COCOMO");
+        dataset.addValue(cv.regression.mmre, "MMRE", "Regression");
+        dataset.addValue(cv.pso.mmre, "MMRE", "PSO");
+        dataset.addValue(cv.analogy.mmre, "MMRE", "Analogy");
+
+        return ChartFactory.createBarChart(
+                "MMRE Comparison (" + cv.scheme + " cross-validation)",
+                "Model",
+                "Out-of-sample MMRE",
+                dataset,
+                PlotOrientation.VERTICAL,
+                true, true, false);
+    }
+
+    /**
+     * Actual-vs-predicted and residual-vs-KLOC charts for every model over the whole history,
+     * keyed by model name. Analogy predictions are leave-one-out and are only included up to
+     * {@link #ANALOGY_CHART_ROWS} projects; {@code analogy} may be null.
+     */
+    public static Map<String, JFreeChart[]> diagnostics(ColumnDataset dataset, FittedModels models, AnalogyModel analogy) {
+        int n = dataset.size();
+        double[] cocomo = new double[n];
+        double[] regression = new double[n];
+        double[] pso = new double[n];
+        for (int i = 0; i < n; i++) {
+            double kloc = dataset.klocs[i];
+            double method = dataset.methods[i];
+            cocomo[i] = models.predictCocomo(kloc, method);
+            regression[i] = models.predictRegression(kloc);
+            pso[i] = models.predictPso(kloc, method);
+        }
+        Map<String, JFreeChart[]> charts = new LinkedHashMap<>();
+        charts.put("COCOMO", modelCharts("COCOMO", dataset, cocomo));
+        charts.put("Regression", modelCharts("Regression", dataset, regression));
+        charts.put("PSO", modelCharts("PSO", dataset, pso));
+        if (analogy != null && analogy.size() == n && n <= ANALOGY_CHART_ROWS) {
+            charts.put("Analogy", modelCharts("Analogy (leave-one-out)", dataset, analogy.leaveOneOutPredictions()));
+        }
+        return charts;
+    }
+
+    private static JFreeChart[] modelCharts(String model, ColumnDataset dataset, double[] predicted) {
+        return new JFreeChart[]{
+                actualVsPredicted(model, dataset.actualEfforts, predicted),
+                residuals(model, dataset.klocs, dataset.actualEfforts, predicted)};
+    }
+
+    /** Predicted against actual effort on log axes, with the line of perfect prediction. */
+    public static JFreeChart actualVsPredicted(String model, double[] actual, double[] predicted) {
+        JFreeChart chart = scatter(model + ": actual vs predicted", "Actual effort (PM)", "Predicted effort (PM)",
+                actual, predicted, true, true);
+        double lo = Double.POSITIVE_INFINITY, hi = 0;
+        for (int i = 0; i < actual.length; i++) {
+            if (actual[i] > 0 && predicted[i] > 0) {
+                lo = Math.min(lo, Math.min(actual[i], predicted[i]));
+                hi = Math.max(hi, Math.max(actual[i], predicted[i]));
+            }
+        }
+        if (hi > 0) {
+            chart.getXYPlot().addAnnotation(new XYLineAnnotation(lo, lo, hi, hi, new BasicStroke(1f), Color.GRAY));
+        }
+        return chart;
+    }
+
+    /** Relative error {@code (predicted - actual) / actual} against KLOC on a log axis. */
+    public static JFreeChart residuals(String model, double[] klocs, double[] actual, double[] predicted) {
+        double[] relative = new double[actual.length];
+        for (int i = 0; i < actual.length; i++) {
+            relative[i] = (predicted[i] - actual[i]) / actual[i];
+        }
+        JFreeChart chart = scatter(model + ": relative error vs KLOC", "KLOC", "(Predicted - actual) / actual",
+                klocs, relative, true, false);
+        chart.getXYPlot().addRangeMarker(new ValueMarker(0, Color.GRAY, new BasicStroke(1f)));
+        return chart;
+    }
+
+    private static JFreeChart scatter(String title, String xLabel, String yLabel,
+                                      double[] xs, double[] ys, boolean logX, boolean logY) {
+        int[] kept = Downsampler.grid(xs, ys, logX, logY, GRID_COLUMNS, GRID_ROWS);
+        double[][] series = new double[2][kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            series[0][i] = xs[kept[i]];
+            series[1][i] = ys[kept[i]];
+        }
+        DefaultXYDataset data = new DefaultXYDataset();
+        data.addSeries(title, series);
+
+        JFreeChart chart = ChartFactory.createScatterPlot(title, xLabel, yLabel, data,
+                PlotOrientation.VERTICAL, false, false, false);
+        XYPlot plot = chart.getXYPlot();
+        XYDotRenderer renderer = new XYDotRenderer();
+        renderer.setDotWidth(2);
+        renderer.setDotHeight(2);
+        plot.setRenderer(renderer);
+        if (logX) plot.setDomainAxis(new LogAxis(xLabel));
+        if (logY) plot.setRangeAxis(new LogAxis(yLabel));
+        chart.addSubtitle(new TextTitle(kept.length == xs.length
+                ? String.format("%,d projects", xs.length)
+                : String.format("%,d of %,d projects shown (one per grid cell, outliers kept)", kept.length, xs.length)));
+        return chart;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+/**
+ * MMRE of the COCOMO II post-architecture form
+ * {@code effort = A * size^(B + 0.01 * sum(w_j * SF_j)) * prod(EM_i^v_i)} over a
+ * {@link ColumnDataset}, for calibration with an N-dimensional {@link ParallelSwarm}.
+ * <p>
+ * A candidate is laid out as {@code [A, B, w_1..w_s, v_1..v_m]}: the nominal multiplier and
+ * exponent, one weight per scale factor and one exponent per effort multiplier. With all weights
+ * at 0 and all exponents at 1 the model is plain COCOMO II with the given ratings.
+ * <p>
+ * Driver ratings are held row-major in one flat array per kind, and effort multipliers are
+ * stored as logarithms, so each row costs one {@code exp} whatever the number of drivers.
+ */
+public final class CocomoIIFitness implements VectorFitness {
+
+    private final double[] logKlocs;
+    private final double[] actualEfforts;
+    private final double[] inverseEfforts;
+    private final double[] scaleFactors;
+    private final double[] logMultipliers;
+    private final int factorCount;
+    private final int multiplierCount;
+
+    /**
+     * @param scaleFactors     {@code size() * factorCount} scale-factor ratings, row-major
+     * @param effortMultipliers {@code size() * multiplierCount} effort-multiplier ratings, row-major,
+     *                          all positive
+     */
+    public CocomoIIFitness(ColumnDataset dataset, double[] scaleFactors, int factorCount,
+                           double[] effortMultipliers, int multiplierCount) {
+        int n = dataset.size();
+        if (scaleFactors.length != n * factorCount || effortMultipliers.length != n * multiplierCount) {
+            throw new IllegalArgumentException("Driver arrays do not match " + n + " rows");
+        }
+        this.logKlocs = dataset.logKlocs;
+        this.actualEfforts = dataset.actualEfforts;
+        this.inverseEfforts = dataset.inverseEfforts;
+        this.scaleFactors = scaleFactors.clone();
+        this.factorCount = factorCount;
+        this.multiplierCount = multiplierCount;
+        this.logMultipliers = new double[effortMultipliers.length];
+        for (int i = 0; i < effortMultipliers.length; i++) {
+            if (!(effortMultipliers[i] > 0)) throw new IllegalArgumentException("Effort multipliers must be positive");
+            logMultipliers[i] = Math.log(effortMultipliers[i]);
+        }
+    }
+
+    /**
+     * The only driver the bundled history records is the method rating, so it is treated as a
+     * single effort multiplier {@code method / 30} with a fitted exponent: a 3-D search over
+     * (A, B, v_method) that reduces to the 2-D model at {@code v_method = 1}. Rows rated 0 have no
+     * logarithm and are left out; {@link #size()} tells how many rows remain.
+     *
+     * @throws IllegalArgumentException if no row has a positive method rating
+     */
+    public static CocomoIIFitness fromMethodColumn(ColumnDataset dataset) {
+        int n = dataset.size();
+        int rated = 0;
+        for (int i = 0; i < n; i++) {
+            if (dataset.eafs[i] > 0) rated++;
+        }
+        if (rated == 0) throw new IllegalArgumentException("No project has a positive method rating");
+        if (rated < n) {
+            double[] klocs = new double[rated];
+            double[] methods = new double[rated];
+            double[] actualEfforts = new double[rated];
+            for (int i = 0, j = 0; i < n; i++) {
+                if (!(dataset.eafs[i] > 0)) continue;
+                klocs[j] = dataset.klocs[i];
+                methods[j] = dataset.methods[i];
+                actualEfforts[j++] = dataset.actualEfforts[i];
+            }
+            dataset = ColumnDataset.wrap(klocs, methods, actualEfforts);
+        }
+        return new CocomoIIFitness(dataset, new double[0], 0, dataset.eafs, 1);
+    }
+
+    /** Rows the fitness is evaluated over. */
+    public int size() {
+        return logKlocs.length;
+    }
+
+    public int dimensions() {
+        return 2 + factorCount + multiplierCount;
+    }
+
+    /** A and B over the usual COCOMO box, scale-factor weights and multiplier exponents over [0, 2]. */
+    public SearchSpace searchSpace() {
+        int dims = dimensions();
+        double[] lower = new double[dims];
+        double[] upper = new double[dims];
+        lower[0] = SearchSpace.COCOMO.lower(0);
+        upper[0] = SearchSpace.COCOMO.upper(0);
+        lower[1] = SearchSpace.COCOMO.lower(1);
+        upper[1] = SearchSpace.COCOMO.upper(1);
+        for (int d = 2; d < dims; d++) {
+            upper[d] = 2;
+        }
+        return new SearchSpace(lower, upper);
+    }
+
+    @Override
+    public double evaluate(double[] position, int offset) {
+        double logA = Math.log(position[offset]);
+        double b = position[offset + 1];
+        int weights = offset + 2;
+        int exponents = weights + factorCount;
+        int n = logKlocs.length;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double exponent = b;
+            for (int j = 0, k = i * factorCount; j < factorCount; j++, k++) {
+                exponent += 0.01 * position[weights + j] * scaleFactors[k];
+            }
+            double logEffort = logA + exponent * logKlocs[i];
+            for (int j = 0, k = i * multiplierCount; j < multiplierCount; j++, k++) {
+                logEffort += position[exponents + j] * logMultipliers[k];
+            }
+            double predicted = Math.exp(logEffort);
+            sum += Math.abs(actualEfforts[i] - predicted) * inverseEfforts[i];
+        }
+        return sum / n;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example;
+
+/**
+ * Immutable structure-of-arrays view of the project history. Besides the raw KLOC, method and
+ * effort columns it keeps {@code log(kloc)}, {@code eaf = method / 30} and {@code 1 / effort}
+ * precomputed, so fitness kernels can run without calling {@code pow} or allocating.
+ * <p>
+ * The public constructor copies its arrays, and code outside this package reads the columns
+ * through accessors that return copies, so the derived columns and the fingerprint that
+ * {@link ModelCache} keys on always describe the same data. Kernels in this package read the
+ * arrays directly and must not write to them.
+ */
+public final class ColumnDataset {
+
+    final double[] klocs;
+    final double[] methods;
+    final double[] actualEfforts;
+
+    final double[] logKlocs;
+    final double[] eafs;
+    final double[] inverseEfforts;
+
+    private final long fingerprint;
+
+    public ColumnDataset(double[] klocs, double[] methods, double[] actualEfforts) {
+        this(new double[][]{klocs.clone(), methods.clone(), actualEfforts.clone()});
+    }
+
+    /** Takes ownership of freshly built columns without copying; the caller must not keep them. */
+    static ColumnDataset wrap(double[] klocs, double[] methods, double[] actualEfforts) {
+        return new ColumnDataset(new double[][]{klocs, methods, actualEfforts});
+    }
+
+    private ColumnDataset(double[][] columns) {
+        double[] klocs = columns[0];
+        double[] methods = columns[1];
+        double[] actualEfforts = columns[2];
+        if (klocs.length != methods.length || klocs.length != actualEfforts.length) {
+            throw new IllegalArgumentException("Column lengths differ");
+        }
+        int n = klocs.length;
+        this.klocs = klocs;
+        this.methods = methods;
+        this.actualEfforts = actualEfforts;
+        this.logKlocs = new double[n];
+        this.eafs = new double[n];
+        this.inverseEfforts = new double[n];
+        for (int i = 0; i < n; i++) {
+            logKlocs[i] = Math.log(klocs[i]);
+            eafs[i] = methods[i] / 30.0;
+            inverseEfforts[i] = 1.0 / actualEfforts[i];
+        }
+        this.fingerprint = ModelCache.fingerprint(klocs, methods, actualEfforts);
+    }
+
+    public static ColumnDataset fromRows(double[][] data) {
+        int n = data.length;
+        double[] klocs = new double[n];
+        double[] methods = new double[n];
+        double[] actualEfforts = new double[n];
+        for (int i = 0; i < n; i++) {
+            klocs[i] = data[i][0];
+            methods[i] = data[i][1];
+            actualEfforts[i] = data[i][2];
+        }
+        return wrap(klocs, methods, actualEfforts);
+    }
+
+    public int size() {
+        return klocs.length;
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public double kloc(int row) {
+        return klocs[row];
+    }
+
+    public double method(int row) {
+        return methods[row];
+    }
+
+    public double actualEffort(int row) {
+        return actualEfforts[row];
+    }
+
+    /** Copy of the KLOC column. */
+    public double[] klocs() {
+        return klocs.clone();
+    }
+
+    /** Copy of the method column. */
+    public double[] methods() {
+        return methods.clone();
+    }
+
+    /** Copy of the actual effort column. */
+    public double[] actualEfforts() {
+        return actualEfforts.clone();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * Out-of-fold accuracy of each model from one {@link CrossValidator} run.
+ */
+public final class CrossValidationResult {
+
+    public final String scheme;
+    public final int folds;
+    public final ErrorMetrics cocomo;
+    public final ErrorMetrics regression;
+    public final ErrorMetrics pso;
+    public final ErrorMetrics analogy;
+    public final long elapsedNanos;
+
+    public CrossValidationResult(String scheme, int folds, ErrorMetrics cocomo, ErrorMetrics regression,
+                                 ErrorMetrics pso, ErrorMetrics analogy, long elapsedNanos) {
+        this.scheme = scheme;
+        this.folds = folds;
+        this.cocomo = cocomo;
+        this.regression = regression;
+        this.pso = pso;
+        this.analogy = analogy;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s cross-validation (%d folds, %.1f ms)%nCOCOMO:     %s%nRegression: %s%nPSO:        %s%nAnalogy:    %s",
+                scheme, folds, elapsedNanos / 1e6, cocomo, regression, pso, analogy);
+    }
+}
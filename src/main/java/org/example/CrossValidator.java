@@ -0,0 +1,214 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Out-of-sample evaluation of the COCOMO, regression, PSO and analogy models by k-fold,
+ * leave-one-out or repeated random-split cross-validation. The "PSO" model is refitted on each
+ * fold by the {@link Optimizers#configured() configured optimizer}, so its score describes the
+ * solver that is actually deployed.
+ * <p>
+ * Folds are index arrays over the shared {@link ColumnDataset} columns, so no fold copies data.
+ * Each fold is fitted on its own worker with a single-threaded optimizer seeded from the fold
+ * number, and writes its test predictions into a disjoint slice of preallocated arrays, so results
+ * are deterministic for a given seed. Every fold's fit is warm-started from the template's warm
+ * starts, the log-linear fit of its own training rows and the published COCOMO coefficients, so
+ * it only has to refine a nearby optimum. Nothing fitted on the whole history is used, since that
+ * has seen the fold's test rows.
+ */
+public class CrossValidator {
+
+    /** Called after each fold completes, from a worker thread. */
+    @FunctionalInterface
+    public interface FoldListener {
+        void onFold(int foldsDone, int totalFolds);
+    }
+
+    private final ColumnDataset dataset;
+    private final int threads;
+    private final SwarmConfig swarmTemplate;
+    private FoldListener listener;
+
+    public CrossValidator(ColumnDataset dataset) {
+        this(dataset, Runtime.getRuntime().availableProcessors(), new SwarmConfig());
+    }
+
+    /**
+     * @param swarmTemplate optimizer settings used for every fold; its seed is combined with the fold
+     *                      number and its thread count is ignored (folds are the unit of parallelism)
+     */
+    public CrossValidator(ColumnDataset dataset, int threads, SwarmConfig swarmTemplate) {
+        this.dataset = dataset;
+        this.threads = Math.max(1, threads);
+        this.swarmTemplate = swarmTemplate;
+    }
+
+    public CrossValidator setListener(FoldListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public CrossValidationResult kFold(int k, long seed) throws InterruptedException {
+        return run(k + "-fold", kFoldSplits(dataset.size(), k, seed), seed);
+    }
+
+    public CrossValidationResult leaveOneOut() throws InterruptedException {
+        return run("leave-one-out", leaveOneOutSplits(dataset.size()), 0);
+    }
+
+    public CrossValidationResult repeatedSplits(int repeats, double testFraction, long seed) throws InterruptedException {
+        return run(repeats + " random splits", randomSplits(dataset.size(), repeats, testFraction, seed), seed);
+    }
+
+    static List<Fold> kFoldSplits(int n, int k, long seed) {
+        if (k < 2 || k > n) throw new IllegalArgumentException("k must be between 2 and " + n);
+        int[] order = shuffled(n, new SplittableRandom(seed));
+        List<Fold> folds = new ArrayList<>(k);
+        for (int f = 0; f < k; f++) {
+            int from = (int) ((long) n * f / k);
+            int to = (int) ((long) n * (f + 1) / k);
+            folds.add(new Fold(order, from, to));
+        }
+        return folds;
+    }
+
+    static List<Fold> leaveOneOutSplits(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        List<Fold> folds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            folds.add(new Fold(order, i, i + 1));
+        }
+        return folds;
+    }
+
+    static List<Fold> randomSplits(int n, int repeats, double testFraction, long seed) {
+        int testSize = (int) Math.round(n * testFraction);
+        if (testSize < 1 || testSize >= n) throw new IllegalArgumentException("testFraction leaves an empty train or test set");
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Fold> folds = new ArrayList<>(repeats);
+        for (int r = 0; r < repeats; r++) {
+            folds.add(new Fold(shuffled(n, random.split()), 0, testSize));
+        }
+        return folds;
+    }
+
+    /**
+     * Positions [from, to) of {@code order} are the test rows, the rest the training rows. Index
+     * arrays are only materialised when the fold runs, so leave-one-out stays O(n) in memory.
+     */
+    record Fold(int[] order, int from, int to) {
+        int testSize() {
+            return to - from;
+        }
+
+        int[] test() {
+            return Arrays.copyOfRange(order, from, to);
+        }
+
+        int[] train() {
+            int[] train = new int[order.length - testSize()];
+            System.arraycopy(order, 0, train, 0, from);
+            System.arraycopy(order, to, train, from, order.length - to);
+            return train;
+        }
+    }
+
+    private CrossValidationResult run(String scheme, List<Fold> folds, long seed) throws InterruptedException {
+        long start = System.nanoTime();
+        int total = 0;
+        int[] offsets = new int[folds.size()];
+        for (int f = 0; f < folds.size(); f++) {
+            offsets[f] = total;
+            total += folds.get(f).testSize();
+        }
+        double[] actual = new double[total];
+        double[] cocomo = new double[total];
+        double[] regression = new double[total];
+        double[] pso = new double[total];
+        double[] analogy = new double[total];
+        Optimizer optimizer = Optimizers.configured();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>(folds.size());
+        AtomicInteger done = new AtomicInteger();
+        try {
+            for (int f = 0; f < folds.size(); f++) {
+                int fold = f;
+                futures.add(pool.submit(() -> {
+                    runFold(folds.get(fold), optimizer, seed + fold, offsets[fold], actual, cocomo, regression, pso, analogy);
+                    int finished = done.incrementAndGet();
+                    if (listener != null) listener.onFold(finished, folds.size());
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof CancellationException ce) throw ce;
+            throw new IllegalStateException("Cross-validation fold failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return new CrossValidationResult(scheme, folds.size(),
+                ErrorMetrics.of(actual, cocomo),
+                ErrorMetrics.of(actual, regression),
+                ErrorMetrics.of(actual, pso),
+                ErrorMetrics.of(actual, analogy),
+                System.nanoTime() - start);
+    }
+
+    private void runFold(Fold fold, Optimizer optimizer, long seed, int offset,
+                         double[] actual, double[] cocomo, double[] regression, double[] pso, double[] analogy) {
+        int[] test = fold.test();
+        int[] train = fold.train();
+
+        IncrementalRegression line = IncrementalRegression.fit(dataset.klocs, dataset.actualEfforts, train);
+
+        SwarmConfig config = swarmTemplate.copy();
+        config.seed = seed;
+        config.threads = 1;
+        config.listener = null;
+        config.warmStarts = FittedModels.warmStarts(dataset, train, swarmTemplate.warmStarts);
+        SwarmResult best = optimizer.fit(dataset, train, config);
+        // Indexed on the training rows only, so a test project can never match itself.
+        AnalogyModel neighbours = AnalogyModel.fit(dataset, train, AnalogyModel.DEFAULT_K);
+
+        for (int i = 0; i < test.length; i++) {
+            int r = test[i];
+            double kloc = dataset.klocs[r];
+            double eaf = dataset.eafs[r];
+            actual[offset + i] = dataset.actualEfforts[r];
+            cocomo[offset + i] = FittedModels.COCOMO_A * Math.pow(kloc, FittedModels.COCOMO_B) * eaf;
+            regression[offset + i] = line.predict(kloc);
+            pso[offset + i] = best.a * Math.pow(kloc, best.b) * eaf;
+            analogy[offset + i] = neighbours.predict(kloc, dataset.methods[r]);
+        }
+    }
+
+    private static int[] shuffled(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+}
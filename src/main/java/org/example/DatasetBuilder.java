@@ -0,0 +1,83 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * {@link RowSink} that appends valid rows to growable primitive column buffers and records
+ * every rejected row in a {@link LoadReport}.
+ */
+public class DatasetBuilder implements RowSink {
+
+    private double[] klocs;
+    private double[] methods;
+    private double[] actualEfforts;
+    private int size;
+    private final LoadReport report = new LoadReport();
+
+    public DatasetBuilder() {
+        this(64);
+    }
+
+    public DatasetBuilder(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        klocs = new double[capacity];
+        methods = new double[capacity];
+        actualEfforts = new double[capacity];
+    }
+
+    @Override
+    public void accept(int rowNumber, double kloc, double method, double actualEffort) {
+        if (Double.isNaN(kloc) && Double.isNaN(method) && Double.isNaN(actualEffort)) {
+            report.skip(rowNumber, "blank row");
+            return;
+        }
+        if (!(kloc > 0) || Double.isInfinite(kloc)) {
+            report.skip(rowNumber, "KLOC missing or not positive");
+            return;
+        }
+        if (!(method >= 0) || Double.isInfinite(method)) {
+            report.skip(rowNumber, "method missing or negative");
+            return;
+        }
+        if (!(actualEffort > 0) || Double.isInfinite(actualEffort)) {
+            report.skip(rowNumber, "actual effort missing or not positive");
+            return;
+        }
+        if (size == klocs.length) {
+            int capacity = klocs.length * 2;
+            klocs = Arrays.copyOf(klocs, capacity);
+            methods = Arrays.copyOf(methods, capacity);
+            actualEfforts = Arrays.copyOf(actualEfforts, capacity);
+        }
+        klocs[size] = kloc;
+        methods[size] = method;
+        actualEfforts[size] = actualEffort;
+        size++;
+        report.accept();
+    }
+
+    @Override
+    public void expectRows(int rows) {
+        int capacity = size + Math.max(rows, 0);
+        if (capacity > klocs.length) {
+            klocs = Arrays.copyOf(klocs, capacity);
+            methods = Arrays.copyOf(methods, capacity);
+            actualEfforts = Arrays.copyOf(actualEfforts, capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LoadReport getReport() {
+        return report;
+    }
+
+    public ColumnDataset build() {
+        return ColumnDataset.wrap(
+                Arrays.copyOf(klocs, size),
+                Arrays.copyOf(methods, size),
+                Arrays.copyOf(actualEfforts, size));
+    }
+}
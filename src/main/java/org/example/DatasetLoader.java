@@ -0,0 +1,140 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Single entry point for loading project histories. The default history is the file named by
+ * {@code -Deffort.data=path} or, failing that, the bundled {@code data.xlsx}; it is parsed once
+ * per JVM and shared by every caller. A configured spreadsheet is read through its
+ * {@link BinaryDataset} sibling (see {@link #loadCached}), so it is only parsed after it changes.
+ */
+public final class DatasetLoader {
+
+    public static final String DEFAULT_RESOURCE = "data.xlsx";
+    public static final String DATA_PROPERTY = "effort.data";
+
+    private static final Metrics.Timer LOAD_TIME = Metrics.timer("dataset.load", "Time to parse a project history");
+    private static final Metrics.Counter ROWS_LOADED = Metrics.counter("dataset.rows_loaded", "Project rows loaded");
+    private static final Metrics.Counter ROWS_SKIPPED = Metrics.counter("dataset.rows_skipped", "Project rows rejected by validation");
+
+    private static ColumnDataset defaultDataset;
+    private static LoadReport defaultReport;
+
+    private DatasetLoader() {
+    }
+
+    public static synchronized ColumnDataset loadDefault() throws IOException {
+        Path configured = configuredPath();
+        if (defaultDataset == null && configured != null) {
+            LoadReport report = new LoadReport();
+            defaultDataset = loadCached(configured, report);
+            defaultReport = report;
+        }
+        if (defaultDataset == null) {
+            InputStream excelStream = DatasetLoader.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE);
+            if (excelStream == null) throw new IOException("Excel file not found!");
+
+            long start = Metrics.start();
+            DatasetBuilder builder = new DatasetBuilder();
+            try (excelStream) {
+                ProjectReader.readXlsx(excelStream, builder);
+            }
+            defaultReport = builder.getReport();
+            warnIfSkipped(DEFAULT_RESOURCE, defaultReport);
+            defaultDataset = builder.build();
+            record(start, defaultReport);
+        }
+        return defaultDataset;
+    }
+
+    /** The history file set with {@code -Deffort.data}, or null to use the bundled resource. */
+    public static Path configuredPath() {
+        String path = System.getProperty(DATA_PROPERTY);
+        return path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    public static synchronized LoadReport getDefaultReport() {
+        return defaultReport;
+    }
+
+    public static ColumnDataset load(Path file) throws IOException {
+        return load(file, new LoadReport());
+    }
+
+    /** As {@link #load(Path)}, merging the accepted and skipped row counts into {@code report}. */
+    public static ColumnDataset load(Path file, LoadReport report) throws IOException {
+        long start = Metrics.start();
+        DatasetBuilder builder = new DatasetBuilder();
+        if (isBinary(file)) {
+            BinaryDataset.read(file, builder);
+        } else {
+            ProjectReader.read(file, builder);
+        }
+        warnIfSkipped(file.toString(), builder.getReport());
+        ColumnDataset dataset = builder.build();
+        report.merge(builder.getReport());
+        record(start, builder.getReport());
+        return dataset;
+    }
+
+    /**
+     * Loads a spreadsheet through its binary sibling ({@code name.effbin}), writing that file
+     * first when it is missing or was converted from a different version of the spreadsheet, as
+     * told by the size and checksum recorded in it. Binary files load directly.
+     */
+    public static ColumnDataset loadCached(Path file) throws IOException {
+        return loadCached(file, new LoadReport());
+    }
+
+    /** As {@link #loadCached(Path)}, merging the accepted and skipped row counts into {@code report}. */
+    public static ColumnDataset loadCached(Path file, LoadReport report) throws IOException {
+        if (isBinary(file)) return load(file, report);
+        Path binary = binarySibling(file);
+        BinaryDataset.Source source = BinaryDataset.Source.of(file);
+        if (Files.exists(binary) && source.equals(BinaryDataset.source(binary))) {
+            try {
+                LoadReport cached = new LoadReport();
+                ColumnDataset dataset = load(binary, cached);
+                report.merge(cached);
+                return dataset;
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable " + binary + ": " + e.getMessage());
+            }
+        }
+        ColumnDataset dataset = load(file, report);
+        try {
+            BinaryDataset.write(dataset, binary, source);
+        } catch (IOException e) {
+            System.err.println("Could not write " + binary + ": " + e.getMessage());
+        }
+        return dataset;
+    }
+
+    private static boolean isBinary(Path file) {
+        return file.getFileName().toString().endsWith(BinaryDataset.EXTENSION);
+    }
+
+    public static Path binarySibling(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return file.resolveSibling(base + BinaryDataset.EXTENSION);
+    }
+
+    private static void record(long start, LoadReport report) {
+        LOAD_TIME.stop(start);
+        ROWS_LOADED.add(report.getRowsAccepted());
+        ROWS_SKIPPED.add(report.getRowsSkipped());
+    }
+
+    private static void warnIfSkipped(String source, LoadReport report) {
+        if (report.getRowsSkipped() == 0) return;
+        System.err.println(source + ": " + report);
+        for (String issue : report.getIssues()) {
+            System.err.println("  " + issue);
+        }
+    }
+}
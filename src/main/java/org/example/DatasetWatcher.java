@@ -0,0 +1,111 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a project history file and re-ingests it on a daemon thread whenever it changes,
+ * handing each new {@link ColumnDataset} to a callback.
+ * <p>
+ * Editors and copy tools often save in several steps, so a reload starts only once the file
+ * has been quiet for {@code QUIET_MILLIS}. A file that cannot be read yet (a half-written
+ * spreadsheet) is reported and retried on the next change. The directory is watched rather
+ * than the file, so replacing the file by rename is picked up too. Each reload also refreshes
+ * the file's binary sibling, so the next launch loads it without parsing.
+ */
+public final class DatasetWatcher implements AutoCloseable {
+
+    private static final long QUIET_MILLIS = 300;
+
+    private static final Metrics.Counter RELOADS = Metrics.counter("dataset.reloads", "History reloads after a file change");
+    private static final Metrics.Counter RELOAD_FAILURES = Metrics.counter("dataset.reload_failures", "History reloads that could not read the file");
+
+    private final Path file;
+    private final Consumer<ColumnDataset> onReload;
+    private final WatchService watchService;
+    private final Thread thread;
+    private FileTime lastLoaded;
+
+    /** Starts watching immediately; the current contents are not reloaded. */
+    public DatasetWatcher(Path file, Consumer<ColumnDataset> onReload) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.onReload = onReload;
+        Path directory = this.file.getParent();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.lastLoaded = Files.exists(this.file) ? Files.getLastModifiedTime(this.file) : null;
+        this.thread = new Thread(this::watch, "dataset-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Keep absorbing events until the file has been quiet for a while.
+                while (true) {
+                    WatchKey next = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    changed |= drain(next);
+                }
+                if (changed) reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            if (!Files.exists(file)) return;
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastLoaded)) return;
+            ColumnDataset dataset = DatasetLoader.loadCached(file);
+            lastLoaded = modified;
+            RELOADS.increment();
+            onReload.accept(dataset);
+        } catch (IOException | RuntimeException e) {
+            RELOAD_FAILURES.increment();
+            System.err.println("Could not reload " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Differential evolution, DE/rand/1/bin, with {@code numParticles} individuals for up to
+ * {@code maxIterations} generations. Warm starts replace the first individuals, and the run
+ * stops on the same stagnation and diameter rules as {@link ParallelSwarm}. Individuals live in
+ * one flat array, as in the swarm; runs are single-threaded and deterministic for a seed.
+ */
+public final class DifferentialEvolution implements Optimizer {
+
+    private static final double DIFFERENTIAL_WEIGHT = 0.5;
+    private static final double CROSSOVER_RATE = 0.9;
+
+    @Override
+    public String name() {
+        return "differential-evolution";
+    }
+
+    @Override
+    public SwarmResult minimize(VectorFitness fitness, SearchSpace space, SwarmConfig config) {
+        long start = System.nanoTime();
+        int dims = space.dimensions();
+        int size = Math.max(4, config.numParticles);
+        SplittableRandom random = new SplittableRandom(config.seed);
+
+        double[] population = new double[size * dims];
+        double[] scores = new double[size];
+        double[] trial = new double[dims];
+        for (int i = 0; i < size; i++) {
+            for (int d = 0; d < dims; d++) {
+                population[i * dims + d] = space.lower(d) + random.nextDouble() * space.range(d);
+            }
+        }
+        if (config.warmStarts != null) {
+            for (int i = 0; i < Math.min(size, config.warmStarts.length); i++) {
+                double[] warm = config.warmStarts[i];
+                if (warm.length != dims) {
+                    throw new IllegalArgumentException("Warm start has " + warm.length + " dimensions, expected " + dims);
+                }
+                System.arraycopy(warm, 0, population, i * dims, dims);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(fitness, population, i * dims);
+        }
+        long evaluations = size;
+
+        int best = argmin(scores);
+        double lastImprovementScore = scores[best];
+        int lastImprovementGeneration = 0;
+        int generations = 0;
+        SwarmResult.StopReason reason = SwarmResult.StopReason.MAX_ITERATIONS;
+        for (int generation = 0; generation < config.maxIterations; generation++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Differential evolution cancelled after " + generation + " generations");
+            }
+            for (int i = 0; i < size; i++) {
+                int r1, r2, r3;
+                do r1 = random.nextInt(size); while (r1 == i);
+                do r2 = random.nextInt(size); while (r2 == i || r2 == r1);
+                do r3 = random.nextInt(size); while (r3 == i || r3 == r1 || r3 == r2);
+                int forced = random.nextInt(dims);
+                for (int d = 0; d < dims; d++) {
+                    trial[d] = d == forced || random.nextDouble() < CROSSOVER_RATE
+                            ? population[r1 * dims + d] + DIFFERENTIAL_WEIGHT * (population[r2 * dims + d] - population[r3 * dims + d])
+                            : population[i * dims + d];
+                }
+                double trialScore = score(fitness, trial, 0);
+                if (trialScore <= scores[i]) {
+                    System.arraycopy(trial, 0, population, i * dims, dims);
+                    scores[i] = trialScore;
+                }
+            }
+            evaluations += size;
+            generations = generation + 1;
+            best = argmin(scores);
+            if (config.listener != null) {
+                config.listener.onIteration(generations, config.maxIterations, scores[best]);
+            }
+
+            if (scores[best] < lastImprovementScore - config.stagnationTolerance * Math.abs(lastImprovementScore)) {
+                lastImprovementScore = scores[best];
+                lastImprovementGeneration = generation;
+            } else if (config.stagnationWindow > 0 && generation - lastImprovementGeneration >= config.stagnationWindow) {
+                reason = SwarmResult.StopReason.STAGNATION;
+                break;
+            }
+            if (config.diameterThreshold > 0 && diameter(population, best, size, space) < config.diameterThreshold) {
+                reason = SwarmResult.StopReason.CONVERGED;
+                break;
+            }
+        }
+        double[] position = Arrays.copyOfRange(population, best * dims, (best + 1) * dims);
+        return new SwarmResult(position, scores[best], generations, evaluations, System.nanoTime() - start, reason);
+    }
+
+    private static double score(VectorFitness fitness, double[] position, int offset) {
+        double score = fitness.evaluate(position, offset);
+        return Double.isNaN(score) ? Double.MAX_VALUE : score;
+    }
+
+    private static int argmin(double[] scores) {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] < scores[best]) best = i;
+        }
+        return best;
+    }
+
+    private static double diameter(double[] population, int best, int size, SearchSpace space) {
+        int dims = space.dimensions();
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            for (int d = 0; d < dims; d++) {
+                max = Math.max(max, Math.abs(population[i * dims + d] - population[best * dims + d]) / space.range(d));
+            }
+        }
+        return max;
+    }
+}
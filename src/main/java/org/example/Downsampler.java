@@ -0,0 +1,62 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Thins scatter data for display. Points are binned into a {@code columns x rows} grid over the
+ * data's bounding box, in log space for log axes, and the first point in each occupied cell is
+ * kept. A plot at roughly that resolution looks the same as the full data, and an isolated
+ * outlier always has a cell of its own, so it is never thinned away. Only a few thousand points
+ * reach the chart, however large the input.
+ * <p>
+ * One pass over the primitive columns, O(n) time and O(columns * rows) memory; the result is
+ * deterministic and safe to compute off the EDT.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+    }
+
+    /**
+     * Indices of the points to draw, in input order. Points that cannot be plotted (non-finite,
+     * or not positive on a log axis) are dropped.
+     */
+    public static int[] grid(double[] xs, double[] ys, boolean logX, boolean logY, int columns, int rows) {
+        if (xs.length != ys.length) throw new IllegalArgumentException("Columns differ in length");
+        if (columns < 1 || rows < 1) throw new IllegalArgumentException("Grid must have at least one cell");
+        int n = xs.length;
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double x = scale(xs[i], logX), y = scale(ys[i], logY);
+            if (!Double.isFinite(x) || !Double.isFinite(y)) continue;
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        if (minX > maxX) return new int[0];
+
+        double cellX = maxX > minX ? columns / (maxX - minX) : 0;
+        double cellY = maxY > minY ? rows / (maxY - minY) : 0;
+        boolean[] occupied = new boolean[columns * rows];
+        int[] kept = new int[Math.min(n, columns * rows)];
+        int count = 0;
+        for (int i = 0; i < n && count < kept.length; i++) {
+            double x = scale(xs[i], logX), y = scale(ys[i], logY);
+            if (!Double.isFinite(x) || !Double.isFinite(y)) continue;
+            int cx = Math.min(columns - 1, (int) ((x - minX) * cellX));
+            int cy = Math.min(rows - 1, (int) ((y - minY) * cellY));
+            int cell = cx * rows + cy;
+            if (!occupied[cell]) {
+                occupied[cell] = true;
+                kept[count++] = i;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    private static double scale(double v, boolean log) {
+        return log ? (v > 0 ? Math.log(v) : Double.NaN) : v;
+    }
+}
@@ -1,39 +1,45 @@
 package org.example;
 
-import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
-import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.category.DefaultCategoryDataset;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.pdf.PdfWriter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.Color;
 import java.awt.Font;
-import java.io.FileOutputStream;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import java.io.FileInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class EffortEstimationUI extends JFrame {
 
     private JTextField klocInput;
-    private JLabel cocomoEffortLabel, cocomoMMRELabel;
-    private JLabel regressionEffortLabel, regressionMMRELabel;
-    private JLabel psoEffortLabel, psoMMRELabel;
+    private JLabel cocomoEffortLabel, cocomoIntervalLabel;
+    private JLabel regressionEffortLabel, regressionIntervalLabel;
+    private JLabel psoEffortLabel, psoIntervalLabel;
+    private JLabel analogyEffortLabel, analogyIntervalLabel;
+    private JProgressBar progressBar;
+    private JButton cancelButton;
+
+    private final AtomicReference<EffortEstimator> estimator = new AtomicReference<>();
+    private SwingWorker<?, ?> currentTask;
+    private volatile CrossValidationResult lastValidation;
 
     public EffortEstimationUI() {
         setTitle("Effort Estimation Tool");
-        setSize(1000, 550);
+        setSize(1150, 550);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
         JButton runCocomoButton = new JButton("Run COCOMO");
         JButton runPsoButton = new JButton("Run PSO");
         JButton runRegressionButton = new JButton("Run Regression");
+        JButton runAnalogyButton = new JButton("Run Analogy");
         JButton compareMMREButton = new JButton("Compare MMREs");
         JButton clearOutputButton = new JButton("Clear Output");
         JButton exportPdfButton = new JButton("Export to PDF");
@@ -47,19 +53,29 @@ public class EffortEstimationUI extends JFrame {
         inputPanel.add(predictButton);
         inputPanel.add(uploadExcelButton);
 
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Idle");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        inputPanel.add(progressBar);
+        inputPanel.add(cancelButton);
+
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(runCocomoButton);
         buttonPanel.add(runPsoButton);
         buttonPanel.add(runRegressionButton);
+        buttonPanel.add(runAnalogyButton);
         buttonPanel.add(compareMMREButton);
         buttonPanel.add(clearOutputButton);
         buttonPanel.add(exportPdfButton);
 
-        JPanel resultPanel = new JPanel(new GridLayout(1, 3, 20, 10));
+        JPanel resultPanel = new JPanel(new GridLayout(1, 4, 20, 10));
         resultPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         resultPanel.add(createResultBox("COCOMO Estimate"));
         resultPanel.add(createResultBox("Regression Estimate"));
         resultPanel.add(createResultBox("PSO Estimate"));
+        resultPanel.add(createResultBox("Analogy Estimate"));
 
         add(buttonPanel, BorderLayout.NORTH);
         add(resultPanel, BorderLayout.CENTER);
@@ -68,89 +84,200 @@ public class EffortEstimationUI extends JFrame {
         runCocomoButton.addActionListener(e -> runModel("cocomo"));
         runPsoButton.addActionListener(e -> runModel("pso"));
         runRegressionButton.addActionListener(e -> runModel("regression"));
+        runAnalogyButton.addActionListener(e -> runModel("analogy"));
 
-        compareMMREButton.addActionListener(e -> {
-            try {
-                EffortEstimator est = new EffortEstimator();
-                est.runCocomoDefault();
-                est.runPso();
-                est.runRegression();
-                showMMREChart(est.getMmreCocomo(), est.getMmrePso(), est.getMmreRegression());
-            } catch (Exception ex) {
-                showError("Chart Error: " + ex.getMessage());
-            }
-        });
+        compareMMREButton.addActionListener(e -> runInBackground("Cross-validating", listener -> {
+            EffortEstimator estimator = estimator(listener);
+            ColumnDataset data = estimator.getDataset();
+            CrossValidator validator = new CrossValidator(data)
+                    .setListener((done, total) -> listener.onIteration(done, total, Double.NaN));
+            CrossValidationResult cv = validator.kFold(Math.min(10, data.size()), 42);
+            return new Comparison(cv, Charts.diagnostics(data, estimator.getModels(), estimator.getAnalogy()));
+        }, this::showMMREChart, "Chart Error: "));
 
         predictButton.addActionListener(e -> predictFromTextInput());
         clearOutputButton.addActionListener(e -> clearOutput());
         exportPdfButton.addActionListener(e -> exportToPDF());
         uploadExcelButton.addActionListener(e -> uploadExcelFile());
+        cancelButton.addActionListener(e -> {
+            if (currentTask != null) currentTask.cancel(true);
+        });
+
+        Path history = DatasetLoader.configuredPath();
+        if (history != null) {
+            try {
+                new DatasetWatcher(history, this::historyChanged);
+            } catch (IOException e) {
+                showError("Cannot watch " + history + ": " + e.getMessage());
+            }
+        }
     }
 
-    private void exportToPDF() {
-        try {
-            Document document = new Document();
-            PdfWriter.getInstance(document, new FileOutputStream("EffortEstimationReport.pdf"));
-            document.open();
+    /**
+     * Refits on the watcher thread, warm-starting from the current estimator, and swaps the result
+     * in only when it is complete; actions already running keep the estimator they started with.
+     */
+    private void historyChanged(ColumnDataset updated) {
+        EffortEstimator previous = estimator.get();
+        estimator.set(previous == null ? new EffortEstimator(updated) : previous.refit(updated));
+        SwingUtilities.invokeLater(() -> {
+            if (currentTask == null || currentTask.isDone()) progressBar.setString("History reloaded: " + updated.size() + " projects");
+        });
+    }
 
-            document.add(new Paragraph("Effort Estimation Report"));
-            document.add(new Paragraph(" ")); // empty line
+    /** Work that runs off the EDT; PSO progress is reported through the given listener. */
+    @FunctionalInterface
+    private interface BackgroundTask<T> {
+        T run(SwarmListener listener) throws Exception;
+    }
 
-            document.add(new Paragraph("COCOMO Estimate"));
-            document.add(new Paragraph(cocomoEffortLabel.getText()));
-            document.add(new Paragraph(cocomoMMRELabel.getText()));
-            document.add(new Paragraph(" "));
+    /**
+     * Runs {@code task} on a SwingWorker, driving the progress bar from PSO iterations, and hands
+     * the result to {@code onSuccess} on the EDT. Only one task runs at a time.
+     */
+    private <T> void runInBackground(String label, BackgroundTask<T> task, Consumer<T> onSuccess, String errorPrefix) {
+        if (currentTask != null && !currentTask.isDone()) {
+            showError("Please wait for \"" + progressBar.getString() + "\" to finish or cancel it.");
+            return;
+        }
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.run((iteration, maxIterations, best) -> setProgress(iteration * 100 / maxIterations));
+            }
 
-            document.add(new Paragraph("Regression Estimate"));
-            document.add(new Paragraph(regressionEffortLabel.getText()));
-            document.add(new Paragraph(regressionMMRELabel.getText()));
-            document.add(new Paragraph(" "));
+            @Override
+            protected void done() {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue(0);
+                progressBar.setString("Idle");
+                cancelButton.setEnabled(false);
+                if (isCancelled()) {
+                    progressBar.setString("Cancelled");
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof CancellationException) {
+                        progressBar.setString("Cancelled");
+                    } else {
+                        showError(errorPrefix + cause.getMessage());
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue((Integer) evt.getNewValue());
+            }
+        });
+        currentTask = worker;
+        progressBar.setIndeterminate(true);
+        progressBar.setString(label);
+        cancelButton.setEnabled(true);
+        worker.execute();
+    }
 
-            document.add(new Paragraph("PSO Estimate"));
-            document.add(new Paragraph(psoEffortLabel.getText()));
-            document.add(new Paragraph(psoMMRELabel.getText()));
+    /**
+     * Fits the estimator on first use and shares the immutable result with every later action;
+     * called from background tasks. The fit holds no lock: {@link ModelCache} makes concurrent
+     * first callers share one fit, and an estimator published by {@link #historyChanged} meanwhile
+     * wins over the one fitted here.
+     */
+    private EffortEstimator estimator(SwarmListener listener) throws Exception {
+        EffortEstimator current = estimator.get();
+        if (current != null) return current;
+        EffortEstimator fitted = new EffortEstimator(DatasetLoader.loadDefault(), listener);
+        return estimator.compareAndSet(null, fitted) ? fitted : estimator.get();
+    }
 
-            document.close();
+    /**
+     * Writes the current predictions, fitted models, the last cross-validation run with its chart,
+     * and every historical project to a PDF chosen by the user. The report is streamed on a
+     * background task; only the label texts are read on the EDT.
+     */
+    private void exportToPDF() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("EffortEstimationReport.pdf"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+
+        String[][] predictions = {
+                {"COCOMO Estimate", cocomoEffortLabel.getText(), cocomoIntervalLabel.getText()},
+                {"Regression Estimate", regressionEffortLabel.getText(), regressionIntervalLabel.getText()},
+                {"PSO Estimate", psoEffortLabel.getText(), psoIntervalLabel.getText()},
+                {"Analogy Estimate", analogyEffortLabel.getText(), analogyIntervalLabel.getText()}};
+        CrossValidationResult validation = lastValidation;
+
+        runInBackground("Exporting PDF", listener -> {
+            EffortEstimator estimator = estimator(listener);
+            ColumnDataset data = estimator.getDataset();
+            FittedModels models = estimator.getModels();
+            try (EffortReport report = EffortReport.create(file, "Effort Estimation Report")) {
+                report.addHeading("Latest prediction");
+                for (String[] p : predictions) {
+                    report.addText(p[0] + ": " + p[1] + ", " + p[2]);
+                }
+                report.addModels(models);
+                if (validation != null) {
+                    report.addCrossValidation(validation);
+                    report.addChart(Charts.mmreComparison(validation), 480, 300);
+                }
+                report.beginProjects("Historical projects");
+                for (int i = 0; i < data.size(); i++) {
+                    if (Thread.currentThread().isInterrupted()) throw new CancellationException("Export cancelled");
+                    double kloc = data.klocs[i];
+                    double method = data.methods[i];
+                    report.addProject(i + 1, kloc, method, data.actualEfforts[i], models.predictCocomo(kloc, method),
+                            models.predictRegression(kloc), models.predictPso(kloc, method));
+                }
+                report.finish();
+            }
+            return file;
+        }, written -> JOptionPane.showMessageDialog(this, "PDF exported successfully as " + written,
+                "Export Success", JOptionPane.INFORMATION_MESSAGE), "Failed to export PDF: ");
+    }
 
-            JOptionPane.showMessageDialog(this, "PDF exported successfully as EffortEstimationReport.pdf", "Export Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception e) {
-            showError("Failed to export PDF: " + e.getMessage());
-        }
+    /** Cross-validation result plus the per-model diagnostic charts, all built off the EDT. */
+    private record Comparison(CrossValidationResult cv, Map<String, JFreeChart[]> diagnostics) {
     }
 
-    private void showMMREChart(double mmreCocomo, double mmrePso, double mmreRegression) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        dataset.addValue(mmreCocomo, "MMRE", "COCOMO");
-        dataset.addValue(mmreRegression, "MMRE", "Regression");
-        dataset.addValue(mmrePso, "MMRE", "PSO");
+    private void showMMREChart(Comparison comparison) {
+        lastValidation = comparison.cv();
+        JTabbedPane tabs = new JTabbedPane();
 
-        JFreeChart barChart = ChartFactory.createBarChart(
-                "MMRE Comparison",
-                "Model",
-                "MMRE",
-                dataset,
-                PlotOrientation.VERTICAL,
-                true, true, false);
+        ChartPanel chartPanel = new ChartPanel(Charts.mmreComparison(comparison.cv()));
+        chartPanel.setPreferredSize(new Dimension(900, 420));
+        tabs.addTab("MMRE", chartPanel);
 
-        ChartPanel chartPanel = new ChartPanel(barChart);
-        chartPanel.setPreferredSize(new Dimension(600, 400));
+        comparison.diagnostics().forEach((model, charts) -> {
+            JPanel panel = new JPanel(new GridLayout(1, charts.length));
+            for (JFreeChart chart : charts) {
+                panel.add(new ChartPanel(chart));
+            }
+            tabs.addTab(model, panel);
+        });
 
-        JOptionPane.showMessageDialog(this, chartPanel, "MMRE Comparison Chart", JOptionPane.INFORMATION_MESSAGE);
+        JOptionPane.showMessageDialog(this, tabs, "MMRE Comparison Chart", JOptionPane.INFORMATION_MESSAGE);
     }
 
     private void runModel(String model) {
-        try {
-            EffortEstimator estimator = new EffortEstimator();
-            String result = switch (model) {
+        runInBackground("Running " + model.toUpperCase(), listener -> {
+            EffortEstimator estimator = estimator(listener);
+            return switch (model) {
                 case "cocomo" -> estimator.runCocomoDefault();
                 case "pso" -> estimator.runPso();
                 case "regression" -> estimator.runRegression();
+                case "analogy" -> estimator.runAnalogy();
                 default -> "Unknown model.";
             };
-            JOptionPane.showMessageDialog(this, result, model.toUpperCase() + " Output", JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) {
-            showError("Error: " + ex.getMessage());
-        }
+        }, result -> JOptionPane.showMessageDialog(this, result, model.toUpperCase() + " Output", JOptionPane.INFORMATION_MESSAGE),
+                "Error: ");
     }
 
     private void showError(String s) {
@@ -158,73 +285,88 @@ public class EffortEstimationUI extends JFrame {
     }
 
     private void predictFromTextInput() {
+        double kloc;
         try {
-            double kloc = Double.parseDouble(klocInput.getText());
-            EffortEstimator estimator = new EffortEstimator();
-
-            double actual = kloc * 2.5;
-
-            double cocomoEffort = estimator.predictEffortCocomo(kloc);
-            double regressionEffort = estimator.predictEffortRegression(kloc);
-            double psoEffort = estimator.predictEffortPso(kloc);
-
-            double cocomoMMRE = Math.abs((actual - cocomoEffort) / actual);
-            double regressionMMRE = Math.abs((actual - regressionEffort) / actual);
-            double psoMMRE = Math.abs((actual - psoEffort) / actual);
-
-            cocomoEffortLabel.setText("Effort: " + String.format("%.2f", cocomoEffort) + " PM");
-            cocomoMMRELabel.setText("MMRE: " + String.format("%.3f", cocomoMMRE));
-            regressionEffortLabel.setText("Effort: " + String.format("%.2f", regressionEffort) + " PM");
-            regressionMMRELabel.setText("MMRE: " + String.format("%.3f", regressionMMRE));
-            psoEffortLabel.setText("Effort: " + String.format("%.2f", psoEffort) + " PM");
-            psoMMRELabel.setText("MMRE: " + String.format("%.3f", psoMMRE));
+            kloc = Double.parseDouble(klocInput.getText());
         } catch (Exception ex) {
             showError("Invalid input: " + ex.getMessage());
+            return;
         }
+        runInBackground("Predicting", listener -> {
+            EffortEstimator estimator = estimator(listener);
+            BootstrapIntervals intervals = estimator.intervals(listener);
+            return new Prediction(
+                    estimator.predictEffortCocomo(kloc), intervals.cocomo(kloc, 30),
+                    estimator.predictEffortRegression(kloc), intervals.regression(kloc),
+                    estimator.predictEffortPso(kloc), intervals.pso(kloc, 30),
+                    estimator.predictEffortAnalogy(kloc), estimator.getMmreAnalogy(),
+                    intervals.confidence());
+        }, p -> {
+            String range = String.format("%.0f%% interval: ", p.confidence * 100);
+            cocomoEffortLabel.setText("Effort: " + String.format("%.2f", p.cocomo) + " PM");
+            cocomoIntervalLabel.setText(range + p.cocomoInterval + " PM");
+            regressionEffortLabel.setText("Effort: " + String.format("%.2f", p.regression) + " PM");
+            regressionIntervalLabel.setText(range + p.regressionInterval + " PM");
+            psoEffortLabel.setText("Effort: " + String.format("%.2f", p.pso) + " PM");
+            psoIntervalLabel.setText(range + p.psoInterval + " PM");
+            analogyEffortLabel.setText("Effort: " + String.format("%.2f", p.analogy) + " PM");
+            analogyIntervalLabel.setText("MMRE (leave-one-out): " + String.format("%.3f", p.analogyMmre));
+        }, "Invalid input: ");
+    }
+
+    /** Point estimates with their bootstrap intervals; analogy has no refit, so it reports its MMRE. */
+    private record Prediction(double cocomo, BootstrapIntervals.Interval cocomoInterval,
+                              double regression, BootstrapIntervals.Interval regressionInterval,
+                              double pso, BootstrapIntervals.Interval psoInterval,
+                              double analogy, double analogyMmre, double confidence) {
     }
 
     private void uploadExcelFile() {
         JFileChooser chooser = new JFileChooser();
         int option = chooser.showOpenDialog(this);
         if (option == JFileChooser.APPROVE_OPTION) {
-            try (FileInputStream fis = new FileInputStream(chooser.getSelectedFile());
-                 Workbook workbook = new XSSFWorkbook(fis)) {
-
-                Sheet sheet = workbook.getSheetAt(0);
-                EffortEstimator estimator = new EffortEstimator();
+            Path file = chooser.getSelectedFile().toPath();
+            runInBackground("Scoring " + file.getFileName(), listener -> {
+                EffortEstimator estimator = estimator(listener);
+                BootstrapIntervals intervals = estimator.intervals(listener);
                 StringBuilder results = new StringBuilder();
+                results.append(String.format("Effort in PM with %.0f%% bootstrap prediction intervals\n\n",
+                        intervals.confidence() * 100));
+                LoadReport report = new LoadReport();
 
-                for (Row row : sheet) {
-                    if (row.getRowNum() == 0) continue;
-                    Cell cell = row.getCell(0);
-                    if (cell != null && cell.getCellType() == CellType.NUMERIC) {
-                        double kloc = cell.getNumericCellValue();
-                        double actual = kloc * 2.5;
-
-                        double cEffort = estimator.predictEffortCocomo(kloc);
-                        double rEffort = estimator.predictEffortRegression(kloc);
-                        double pEffort = estimator.predictEffortPso(kloc);
-
-                        double cMMRE = Math.abs((actual - cEffort) / actual);
-                        double rMMRE = Math.abs((actual - rEffort) / actual);
-                        double pMMRE = Math.abs((actual - pEffort) / actual);
-
-                        results.append(String.format(
-                                "KLOC: %.2f | COCOMO Effort: %.2f PM (MMRE: %.3f), Regression Effort: %.2f PM (MMRE: %.3f), PSO Effort: %.2f PM (MMRE: %.3f)\n\n",
-                                kloc, cEffort, cMMRE, rEffort, rMMRE, pEffort, pMMRE
-                        ));
+                ProjectReader.read(file, (rowNumber, kloc, method, actualEffort) -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Upload cancelled");
                     }
+                    if (!(kloc > 0)) {
+                        report.skip(rowNumber, "KLOC missing or not positive");
+                        return;
+                    }
+                    report.accept();
+
+                    results.append(String.format(
+                            "KLOC: %.2f | COCOMO: %.2f %s, Regression: %.2f %s, PSO: %.2f %s, Analogy: %.2f\n\n",
+                            kloc,
+                            estimator.predictEffortCocomo(kloc), intervals.cocomo(kloc, 30),
+                            estimator.predictEffortRegression(kloc), intervals.regression(kloc),
+                            estimator.predictEffortPso(kloc), intervals.pso(kloc, 30),
+                            estimator.predictEffortAnalogy(kloc)
+                    ));
+                });
+
+                results.append(report).append('\n');
+                for (String issue : report.getIssues()) {
+                    results.append(issue).append('\n');
                 }
-
-                JTextArea textArea = new JTextArea(results.toString());
+                return results.toString();
+            }, results -> {
+                JTextArea textArea = new JTextArea(results);
                 textArea.setEditable(false);
                 JScrollPane scrollPane = new JScrollPane(textArea);
                 scrollPane.setPreferredSize(new Dimension(700, 400));
 
                 JOptionPane.showMessageDialog(this, scrollPane, "Excel File Results", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                showError("Failed to read Excel: " + ex.getMessage());
-            }
+            }, "Failed to read Excel: ");
         }
     }
 
@@ -239,37 +381,42 @@ public class EffortEstimationUI extends JFrame {
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         JLabel effortLabel = new JLabel("Effort: ");
-        JLabel mmreLabel = new JLabel("MMRE: ");
+        JLabel intervalLabel = new JLabel("Interval: ");
         effortLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        mmreLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        intervalLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         if (title.contains("COCOMO")) {
             cocomoEffortLabel = effortLabel;
-            cocomoMMRELabel = mmreLabel;
+            cocomoIntervalLabel = intervalLabel;
         } else if (title.contains("Regression")) {
             regressionEffortLabel = effortLabel;
-            regressionMMRELabel = mmreLabel;
+            regressionIntervalLabel = intervalLabel;
         } else if (title.contains("PSO")) {
             psoEffortLabel = effortLabel;
-            psoMMRELabel = mmreLabel;
+            psoIntervalLabel = intervalLabel;
+        } else if (title.contains("Analogy")) {
+            analogyEffortLabel = effortLabel;
+            analogyIntervalLabel = intervalLabel;
         }
 
         panel.add(Box.createRigidArea(new Dimension(0, 10)));
         panel.add(titleLabel);
         panel.add(Box.createRigidArea(new Dimension(0, 10)));
         panel.add(effortLabel);
-        panel.add(mmreLabel);
+        panel.add(intervalLabel);
 
         return panel;
     }
 
     private void clearOutput() {
         cocomoEffortLabel.setText("Effort: ");
-        cocomoMMRELabel.setText("MMRE: ");
+        cocomoIntervalLabel.setText("Interval: ");
         regressionEffortLabel.setText("Effort: ");
-        regressionMMRELabel.setText("MMRE: ");
+        regressionIntervalLabel.setText("Interval: ");
         psoEffortLabel.setText("Effort: ");
-        psoMMRELabel.setText("MMRE: ");
+        psoIntervalLabel.setText("Interval: ");
+        analogyEffortLabel.setText("Effort: ");
+        analogyIntervalLabel.setText("Interval: ");
     }
 
     public static void main(String[] args) {
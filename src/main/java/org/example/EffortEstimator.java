@@ -1,146 +1,164 @@
 package org.example;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.io.IOException;
+
+/**
+ * Immutable view of a project history and the models fitted to it.
+ * <p>
+ * Everything is computed in the constructor and every method is a pure read, so one instance can
+ * be shared by any number of threads without locking. Recording a completed project returns a
+ * new estimator rather than changing this one.
+ */
+public final class EffortEstimator {
+
+    private static final Metrics.Timer PREDICT_COCOMO = Metrics.timer("predict.cocomo", "Latency of a COCOMO prediction");
+    private static final Metrics.Timer PREDICT_PSO = Metrics.timer("predict.pso", "Latency of a PSO-calibrated prediction");
+    private static final Metrics.Timer PREDICT_REGRESSION = Metrics.timer("predict.regression", "Latency of a regression prediction");
+    private static final Metrics.Timer PREDICT_ANALOGY = Metrics.timer("predict.analogy", "Latency of an analogy (k-nearest-neighbour) prediction");
+
+    private final ColumnDataset dataset;
+    private final FittedModels models;
+    // Never mutated once this estimator is constructed; withCompletedProject works on a copy.
+    private final IncrementalRegression regression;
+    private final AnalogyModel analogy;
+    private final double mmreAnalogy;
+
+    /** Fits the bundled {@code data.xlsx}, which is parsed once per JVM. */
+    public EffortEstimator() throws IOException {
+        this(DatasetLoader.loadDefault());
+    }
 
-import java.io.InputStream;
+    public EffortEstimator(ColumnDataset dataset) {
+        this(dataset, null);
+    }
 
-public class EffortEstimator {
+    /** As {@link #EffortEstimator(ColumnDataset)}, reporting PSO progress if a fit is needed. */
+    public EffortEstimator(ColumnDataset dataset, SwarmListener listener) {
+        this(dataset, ModelCache.get(dataset, listener),
+                IncrementalRegression.fit(dataset.klocs, dataset.actualEfforts));
+    }
 
-    private double[] klocs;
-    private double[] methods;
-    private double[] actualEfforts;
+    private EffortEstimator(ColumnDataset dataset, FittedModels models, IncrementalRegression regression) {
+        this(dataset, models, regression, AnalogyModel.fit(dataset));
+    }
 
-    private double mmreCocomo = 0;
-    private double mmrePso = 0;
-    private double mmreRegression = 0;
+    private EffortEstimator(ColumnDataset dataset, FittedModels models, IncrementalRegression regression,
+                            AnalogyModel analogy) {
+        this(dataset, models, regression, analogy, analogy.leaveOneOutMmre());
+    }
 
-    public double getMmreCocomo() {
-        return mmreCocomo;
+    private EffortEstimator(ColumnDataset dataset, FittedModels models, IncrementalRegression regression,
+                            AnalogyModel analogy, double mmreAnalogy) {
+        this.dataset = dataset;
+        this.models = models;
+        this.regression = regression;
+        this.analogy = analogy;
+        this.mmreAnalogy = mmreAnalogy;
     }
 
-    public double getMmrePso() {
-        return mmrePso;
+    /**
+     * Fits an updated history, starting PSO from this estimator's optimum. COCOMO keeps its
+     * published coefficients and only its MMRE is recomputed; an unchanged dataset is served
+     * from {@link ModelCache} without fitting at all.
+     */
+    public EffortEstimator refit(ColumnDataset updated) {
+        SwarmConfig config = new SwarmConfig();
+        config.warmStarts = new double[][]{{models.psoA, models.psoB}};
+        return new EffortEstimator(updated, ModelCache.get(updated, config),
+                IncrementalRegression.fit(updated.klocs, updated.actualEfforts));
     }
 
-    public double getMmreRegression() {
-        return mmreRegression;
+    public ColumnDataset getDataset() {
+        return dataset;
     }
 
-    public EffortEstimator() throws Exception {
-        loadExcelData();
+    public FittedModels getModels() {
+        return models;
     }
 
-    private void loadExcelData() throws Exception {
-        InputStream excelStream = EffortEstimator.class.getClassLoader().getResourceAsStream("data.xlsx");
-        if (excelStream == null) throw new Exception("Excel file not found!");
+    public AnalogyModel getAnalogy() {
+        return analogy;
+    }
 
-        Workbook workbook = new XSSFWorkbook(excelStream);
-        Sheet sheet = workbook.getSheetAt(0);
-        int n = sheet.getLastRowNum();
+    public double getMmreCocomo() {
+        return models.mmreCocomo;
+    }
 
-        klocs = new double[n];
-        methods = new double[n];
-        actualEfforts = new double[n];
+    public double getMmrePso() {
+        return models.mmrePso;
+    }
+
+    public double getMmreRegression() {
+        return regression.getMmre();
+    }
 
-        for (int i = 1; i <= n; i++) {
-            Row row = sheet.getRow(i);
-            klocs[i - 1] = row.getCell(0).getNumericCellValue();
-            methods[i - 1] = row.getCell(1).getNumericCellValue();
-            actualEfforts[i - 1] = row.getCell(2).getNumericCellValue();
-        }
-        workbook.close();
+    /** Leave-one-out MMRE, so no project is scored against itself. */
+    public double getMmreAnalogy() {
+        return mmreAnalogy;
     }
 
     public String runCocomoDefault() {
-        double[] predicted = new double[klocs.length];
-        for (int i = 0; i < klocs.length; i++) {
-            double A = 2.94;
-            double B = 1.1;
-            double EAF = methods[i] / 30.0;
-            predicted[i] = A * Math.pow(klocs[i], B) * EAF;
-        }
-        mmreCocomo = calculateMMRE(actualEfforts, predicted);
-        return String.format("COCOMO MMRE: %.4f", mmreCocomo);
+        return String.format("COCOMO MMRE: %.4f", models.mmreCocomo);
     }
 
     public String runPso() {
-        double[][] data = new double[klocs.length][3];
-        for (int i = 0; i < klocs.length; i++) {
-            data[i][0] = klocs[i];
-            data[i][1] = methods[i];
-            data[i][2] = actualEfforts[i];
-        }
-
-        Particle best = Main.runPSO(data, 30, 100);
-        double[] predicted = new double[klocs.length];
-        for (int i = 0; i < klocs.length; i++) {
-            double eaf = methods[i] / 30.0;
-            predicted[i] = best.a * Math.pow(klocs[i], best.b) * eaf;
-        }
-        mmrePso = calculateMMRE(actualEfforts, predicted);
-        return String.format("PSO Optimized A: %.4f, B: %.4f\nPSO MMRE: %.4f", best.a, best.b, mmrePso);
+        return String.format("PSO Optimized A: %.4f, B: %.4f\nPSO MMRE: %.4f", models.psoA, models.psoB, models.mmrePso);
     }
 
     public String runRegression() {
-        int n = klocs.length;
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
+        return String.format("Regression Equation: Effort = %.4f * KLOC + %.4f\nRegression MMRE: %.4f",
+                regression.getSlope(), regression.getIntercept(), regression.getMmre());
+    }
 
-        for (int i = 0; i < n; i++) {
-            sumX += klocs[i];
-            sumY += actualEfforts[i];
-            sumXY += klocs[i] * actualEfforts[i];
-            sumX2 += klocs[i] * klocs[i];
-        }
+    public String runAnalogy() {
+        return String.format("Analogy: mean effort of the %d most similar of %d projects (normalised KLOC, method)\nAnalogy MMRE (leave-one-out): %.4f",
+                analogy.k(), analogy.size(), mmreAnalogy);
+    }
 
-        double m = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
-        double c = (sumY - m * sumX) / n;
+    /**
+     * Returns an estimator whose regression line and MMRE also cover a newly completed project,
+     * updated in O(1). COCOMO, PSO and analogy keep serving the loaded history until the next
+     * full fit.
+     */
+    public EffortEstimator withCompletedProject(double kloc, double actualEffort) {
+        IncrementalRegression updated = regression.copy();
+        updated.add(kloc, actualEffort);
+        return new EffortEstimator(dataset, models, updated, analogy, mmreAnalogy);
+    }
 
-        double[] predicted = new double[n];
-        for (int i = 0; i < n; i++) {
-            predicted[i] = m * klocs[i] + c;
-        }
-        mmreRegression = calculateMMRE(actualEfforts, predicted);
-        return String.format("Regression Equation: Effort = %.4f * KLOC + %.4f\nRegression MMRE: %.4f", m, c, mmreRegression);
+    /**
+     * Bootstrap prediction intervals for COCOMO, regression and PSO on this history, computed on
+     * first use and cached per dataset; {@code listener} sees resample progress and may be null.
+     */
+    public BootstrapIntervals intervals(SwarmListener listener) throws InterruptedException {
+        return BootstrapIntervals.get(dataset, listener);
     }
 
     public double predictEffortCocomo(double kloc) {
-        double method = 30;
-        double eaf = method / 30.0;
-        return 2.94 * Math.pow(kloc, 1.1) * eaf;
+        long start = Metrics.start();
+        double effort = models.predictCocomo(kloc, 30);
+        PREDICT_COCOMO.stop(start);
+        return effort;
     }
 
     public double predictEffortPso(double kloc) {
-        double[][] data = new double[klocs.length][3];
-        for (int i = 0; i < klocs.length; i++) {
-            data[i][0] = klocs[i];
-            data[i][1] = methods[i];
-            data[i][2] = actualEfforts[i];
-        }
-        Particle best = Main.runPSO(data, 30, 100);
-        double eaf = 1.0;
-        return best.a * Math.pow(kloc, best.b) * eaf;
+        long start = Metrics.start();
+        double effort = models.predictPso(kloc, 30);
+        PREDICT_PSO.stop(start);
+        return effort;
     }
 
     public double predictEffortRegression(double kloc) {
-        int n = klocs.length;
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        for (int i = 0; i < n; i++) {
-            sumX += klocs[i];
-            sumY += actualEfforts[i];
-            sumXY += klocs[i] * actualEfforts[i];
-            sumX2 += klocs[i] * klocs[i];
-        }
-        double m = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
-        double c = (sumY - m * sumX) / n;
-        return m * kloc + c;
-    }
-
-    private double calculateMMRE(double[] actual, double[] predicted) {
-        double sum = 0;
-        for (int i = 0; i < actual.length; i++) {
-            sum += Math.abs(actual[i] - predicted[i]) / actual[i];
-        }
-        return sum / actual.length;
+        long start = Metrics.start();
+        double effort = regression.predict(kloc);
+        PREDICT_REGRESSION.stop(start);
+        return effort;
+    }
+
+    public double predictEffortAnalogy(double kloc) {
+        long start = Metrics.start();
+        double effort = analogy.predict(kloc, 30);
+        PREDICT_ANALOGY.stop(start);
+        return effort;
     }
 }
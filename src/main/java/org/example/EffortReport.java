@@ -0,0 +1,264 @@
+package org.example;
+
+import com.itextpdf.awt.PdfGraphics2D;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.jfree.chart.JFreeChart;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Streaming PDF report: model summaries, cross-validation metrics, charts and a per-project
+ * table, written to the output as they are added.
+ * <p>
+ * The project table is a large iText table flushed every {@code FLUSH_ROWS} rows, so a portfolio
+ * of any size is written in constant memory. Charts are drawn as vector graphics straight into
+ * the PDF. Nothing here touches Swing, so reports can be built on a worker thread or headless.
+ * <p>
+ * A report is only complete once {@link #finish()} is called. {@link #close()} without it
+ * abandons the report: a file report writes to a {@code .part} sibling that {@code finish}
+ * renames into place and {@code close} deletes, so a failed or cancelled export never leaves a
+ * complete-looking PDF behind.
+ */
+public final class EffortReport implements AutoCloseable {
+
+    private static final int FLUSH_ROWS = 500;
+    private static final String[] PROJECT_HEADER = {
+            "Row", "KLOC", "Method", "Actual", "COCOMO", "Regression", "PSO"};
+
+    private static final Font TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private static final Font HEADING = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 13);
+    private static final Font BODY = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final Font CELL = FontFactory.getFont(FontFactory.HELVETICA, 8);
+    private static final Font CELL_BOLD = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8);
+
+    private final OutputStream out;
+    private final Path partial;
+    private final Path target;
+    private final Document document = new Document();
+    private final PdfWriter writer;
+    private PdfPTable projects;
+    private int unflushedRows;
+    private long projectCount;
+    private boolean finished;
+    private boolean closed;
+
+    public EffortReport(OutputStream out, String title) throws IOException {
+        this(out, title, null, null);
+    }
+
+    private EffortReport(OutputStream out, String title, Path partial, Path target) throws IOException {
+        this.out = out;
+        this.partial = partial;
+        this.target = target;
+        try {
+            writer = PdfWriter.getInstance(document, out);
+            document.addTitle(title);
+            document.open();
+            document.add(new Paragraph(title, TITLE));
+        } catch (DocumentException e) {
+            throw new IOException("Cannot start PDF report", e);
+        }
+    }
+
+    /** Report written to {@code file} once {@link #finish()} succeeds. */
+    public static EffortReport create(Path file, String title) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial));
+        try {
+            return new EffortReport(out, title, partial, target);
+        } catch (IOException | RuntimeException e) {
+            try {
+                out.close();
+                Files.deleteIfExists(partial);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    public EffortReport addHeading(String text) throws IOException {
+        Paragraph heading = new Paragraph(text, HEADING);
+        heading.setSpacingBefore(12);
+        heading.setSpacingAfter(4);
+        return add(heading);
+    }
+
+    public EffortReport addText(String text) throws IOException {
+        return add(new Paragraph(text, BODY));
+    }
+
+    public EffortReport addModels(FittedModels models) throws IOException {
+        addHeading("Fitted models");
+        PdfPTable table = table(new float[]{2, 5, 1.5f}, "Model", "Equation", "MMRE");
+        row(table, "COCOMO", String.format(Locale.ROOT, "Effort = %.4f * KLOC^%.4f * EAF", FittedModels.COCOMO_A, FittedModels.COCOMO_B),
+                format(models.mmreCocomo));
+        row(table, "Regression", String.format(Locale.ROOT, "Effort = %.4f * KLOC + %.4f", models.regressionSlope, models.regressionIntercept),
+                format(models.mmreRegression));
+        row(table, "PSO", String.format(Locale.ROOT, "Effort = %.4f * KLOC^%.4f * EAF", models.psoA, models.psoB),
+                format(models.mmrePso));
+        return add(table);
+    }
+
+    public EffortReport addCrossValidation(CrossValidationResult cv) throws IOException {
+        addHeading(String.format(Locale.ROOT, "Cross-validation: %s (%d folds)", cv.scheme, cv.folds));
+        PdfPTable table = table(new float[]{2, 1, 1, 1, 1}, "Model", "MMRE", "MdMRE", "PRED(25)", "MAE");
+        metricsRow(table, "COCOMO", cv.cocomo);
+        metricsRow(table, "Regression", cv.regression);
+        metricsRow(table, "PSO", cv.pso);
+        metricsRow(table, "Analogy", cv.analogy);
+        return add(table);
+    }
+
+    /** Draws {@code chart} as vector graphics at the given size in points. */
+    public EffortReport addChart(JFreeChart chart, float width, float height) throws IOException {
+        PdfTemplate template = writer.getDirectContent().createTemplate(width, height);
+        Graphics2D g2 = new PdfGraphics2D(template, width, height);
+        try {
+            chart.draw(g2, new Rectangle2D.Double(0, 0, width, height));
+        } finally {
+            g2.dispose();
+        }
+        try {
+            Image image = Image.getInstance(template);
+            image.setAlignment(Element.ALIGN_CENTER);
+            return add(image);
+        } catch (DocumentException e) {
+            throw new IOException("Cannot add chart", e);
+        }
+    }
+
+    /** Starts the per-project table; rows are streamed with {@link #addProject}. */
+    public EffortReport beginProjects(String heading) throws IOException {
+        if (projects != null) throw new IllegalStateException("Project table already open");
+        addHeading(heading);
+        projects = table(new float[]{1, 1.2f, 1, 1.2f, 1.2f, 1.2f, 1.2f}, PROJECT_HEADER);
+        projects.setComplete(false);
+        return this;
+    }
+
+    public void addProject(int row, double kloc, double method, double actual,
+                           double cocomo, double regression, double pso) throws IOException {
+        PdfPTable table = projects;
+        cell(table, Integer.toString(row));
+        cell(table, value(kloc));
+        cell(table, value(method));
+        cell(table, Double.isNaN(actual) ? "" : value(actual));
+        cell(table, value(cocomo));
+        cell(table, value(regression));
+        cell(table, value(pso));
+        projectCount++;
+        if (++unflushedRows == FLUSH_ROWS) {
+            // Adding an incomplete large table writes the finished rows and drops them from memory.
+            add(table);
+            unflushedRows = 0;
+        }
+    }
+
+    public EffortReport endProjects() throws IOException {
+        projects.setComplete(true);
+        add(projects);
+        projects = null;
+        unflushedRows = 0;
+        return addText(projectCount + " projects");
+    }
+
+    /** Completes the document and, for a file report, moves it into place. */
+    public void finish() throws IOException {
+        if (projects != null) endProjects();
+        finished = true;
+        close();
+    }
+
+    /** Releases the output; unless {@link #finish()} was called, the report is discarded. */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            try {
+                if (finished) document.close();
+            } finally {
+                out.close();
+            }
+            if (finished && partial != null) {
+                try {
+                    Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } finally {
+            if (partial != null) Files.deleteIfExists(partial);
+        }
+    }
+
+    private EffortReport add(Element element) throws IOException {
+        try {
+            document.add(element);
+            return this;
+        } catch (DocumentException e) {
+            throw new IOException("Cannot write PDF report", e);
+        }
+    }
+
+    private static PdfPTable table(float[] widths, String... header) throws IOException {
+        PdfPTable table = new PdfPTable(widths.length);
+        try {
+            table.setWidths(widths);
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        for (String h : header) {
+            PdfPCell cell = new PdfPCell(new Phrase(h, CELL_BOLD));
+            cell.setBackgroundColor(new BaseColor(230, 240, 255));
+            table.addCell(cell);
+        }
+        return table;
+    }
+
+    private static void row(PdfPTable table, String... values) {
+        for (String v : values) cell(table, v);
+    }
+
+    private static void metricsRow(PdfPTable table, String model, ErrorMetrics m) {
+        row(table, model, format(m.mmre), format(m.mdmre),
+                String.format(Locale.ROOT, "%.1f%%", m.pred25 * 100), String.format(Locale.ROOT, "%.2f", m.mae));
+    }
+
+    private static void cell(PdfPTable table, String text) {
+        table.addCell(new Phrase(text, CELL));
+    }
+
+    private static String format(double v) {
+        return String.format(Locale.ROOT, "%.4f", v);
+    }
+
+    private static String value(double v) {
+        return String.format(Locale.ROOT, "%.2f", v);
+    }
+}
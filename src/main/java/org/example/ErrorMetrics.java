@@ -0,0 +1,47 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Accuracy summary for a set of predictions: MMRE, median MRE, PRED(25) and mean absolute error.
+ */
+public final class ErrorMetrics {
+
+    public final double mmre;
+    public final double mdmre;
+    public final double pred25;
+    public final double mae;
+    public final int count;
+
+    public ErrorMetrics(double mmre, double mdmre, double pred25, double mae, int count) {
+        this.mmre = mmre;
+        this.mdmre = mdmre;
+        this.pred25 = pred25;
+        this.mae = mae;
+        this.count = count;
+    }
+
+    public static ErrorMetrics of(double[] actual, double[] predicted) {
+        int n = actual.length;
+        double[] mre = new double[n];
+        double sumMre = 0, sumAbs = 0;
+        int within25 = 0;
+        for (int i = 0; i < n; i++) {
+            double error = Math.abs(actual[i] - predicted[i]);
+            mre[i] = error / actual[i];
+            sumMre += mre[i];
+            sumAbs += error;
+            if (mre[i] <= 0.25) within25++;
+        }
+        Arrays.sort(mre);
+        double median = n == 0 ? Double.NaN
+                : n % 2 == 1 ? mre[n / 2] : (mre[n / 2 - 1] + mre[n / 2]) / 2;
+        return new ErrorMetrics(sumMre / n, median, (double) within25 / n, sumAbs / n, n);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MMRE %.4f | MdMRE %.4f | PRED(25) %.1f%% | MAE %.2f",
+                mmre, mdmre, pred25 * 100, mae);
+    }
+}
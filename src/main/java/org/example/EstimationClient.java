@@ -0,0 +1,141 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Minimal Java client for {@link EstimationServer}. Its {@link #main} starts a server in-process
+ * on a free loopback port and drives it with concurrent single predictions, reporting throughput
+ * and latency percentiles. Run it with {@code -Dsun.net.httpserver.nodelay=true}, as the server
+ * itself should be run, and with fewer concurrent clients than cores: client and server share
+ * the machine, so beyond that the percentiles measure queueing rather than the service.
+ */
+public final class EstimationClient {
+
+    private final HttpClient http;
+    private final URI base;
+
+    public EstimationClient(URI base) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /** JSON body of {@code GET /predict}. */
+    public String predict(double kloc, double method) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(base.resolve(String.format(Locale.ROOT, "/predict?kloc=%s&method=%s", kloc, method)))
+                .GET().build());
+    }
+
+    /** JSON body of {@code POST /predict} for {@code [kloc, method]} pairs. */
+    public String predictBatch(double[][] projects) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder(projects.length * 16).append('[');
+        for (int i = 0; i < projects.length; i++) {
+            if (i > 0) body.append(',');
+            body.append('[').append(projects[i][0]).append(',').append(projects[i][1]).append(']');
+        }
+        body.append(']');
+        return send(HttpRequest.newBuilder(base.resolve("/predict"))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build());
+    }
+
+    /** Starts a background refit on the server from a CSV history (with header row). */
+    public String refit(String csv) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(base.resolve("/refit"))
+                .POST(HttpRequest.BodyPublishers.ofString(csv)).build());
+    }
+
+    public String model() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(base.resolve("/model")).GET().build());
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body().trim());
+        }
+        return response.body();
+    }
+
+    /**
+     * Usage: {@code EstimationClient [requests] [concurrency]}. Runs a refit half-way through to
+     * show that reads are not held up by it.
+     */
+    public static void main(String[] args) {
+        EstimationServer.warnIfNoDelayMissing();
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        try (EstimationService service = new EstimationService(DatasetLoader::loadDefault);
+             EstimationServer server = new EstimationServer(service,
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)).start()) {
+            EstimationClient client = new EstimationClient(URI.create("http://127.0.0.1:" + server.getPort()));
+            System.out.println(client.model().trim());
+
+            // Warm up the server and the JIT before measuring.
+            runLoad(client, Math.min(requests, 2_000), concurrency, -1, service);
+            long[] latencies = new long[requests];
+            long start = System.nanoTime();
+            runLoad(client, requests, concurrency, requests / 2, service, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%d predictions with %d concurrent clients in %.2f s: %.0f req/s%n",
+                    requests, concurrency, seconds, requests / seconds);
+            System.out.printf("latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                    latencies[latencies.length - 1] / 1e6);
+            System.out.println("Batch of 3: " + client.predictBatch(new double[][]{{10, 30}, {50, 25}, {120, 35}}).trim());
+        } catch (Exception e) {
+            System.err.println("Load test failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    private static void runLoad(EstimationClient client, int requests, int concurrency, int refitAt,
+                                EstimationService service) throws Exception {
+        runLoad(client, requests, concurrency, refitAt, service, new long[requests]);
+    }
+
+    private static void runLoad(EstimationClient client, int requests, int concurrency, int refitAt,
+                                EstimationService service, long[] latencies) throws Exception {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.add(pool.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(worker);
+                    for (int i = worker; i < requests; i += concurrency) {
+                        if (i == refitAt) service.refit();
+                        long t = System.nanoTime();
+                        client.predict(1 + random.nextDouble() * 200, 20 + random.nextInt(20));
+                        latencies[i] = System.nanoTime() - t;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
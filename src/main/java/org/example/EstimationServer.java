@@ -0,0 +1,384 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP/JSON front end for an {@link EstimationService}. Every request runs on its own
+ * virtual thread and reads the current {@link FittedModels} without locking.
+ * <pre>
+ *   GET  /predict?kloc=12.5&amp;method=30     one estimate from every model
+ *   POST /predict                           batch: [[kloc, method], ...] or [kloc, ...]
+ *   GET  /model                             coefficients and in-sample MMRE of the live models
+ *   POST /refit                             refit in the background, from a CSV body
+ *                                           (KLOC, method, effort with a header row) or,
+ *                                           with an empty body, from the original history
+ *   GET  /metrics, /metrics.json            {@link Metrics} export
+ * </pre>
+ * Method defaults to 30 (an EAF of 1) when omitted. Request bodies larger than
+ * {@code MAX_BODY_BYTES} are rejected with 413 before they are read into memory; larger histories
+ * belong in a file passed with {@code --history}. With {@code --watch} the history file is
+ * watched and refitted in the background whenever it changes.
+ * <p>
+ * Launch with {@code -Dsun.net.httpserver.nodelay=true}. The JDK server writes headers and body
+ * separately, and without TCP_NODELAY the second write waits on the client's delayed ACK, so
+ * every keep-alive response takes about 40 ms. The JDK reads the property once, when the first
+ * {@link HttpServer} in the process starts (possibly the {@link Metrics} endpoint), so it cannot
+ * be set reliably from code; {@link #main} warns when it is missing.
+ */
+public final class EstimationServer implements AutoCloseable {
+
+    private static final double DEFAULT_METHOD = 30;
+    private static final int MAX_BATCH = 100_000;
+    /** Room for {@code MAX_BATCH} projects at a generous 64 bytes each, as JSON or CSV. */
+    private static final int MAX_BODY_BYTES = MAX_BATCH * 64;
+
+    private static final Metrics.Timer PREDICT_TIME = Metrics.timer("http.predict", "Latency of GET /predict");
+    private static final Metrics.Timer BATCH_TIME = Metrics.timer("http.batch_predict", "Latency of POST /predict");
+    private static final Metrics.Counter ERRORS = Metrics.counter("http.errors", "Requests answered with a 4xx or 5xx status");
+
+    /** JDK server property enabling TCP_NODELAY; read once, when the first HttpServer starts. */
+    static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final EstimationService service;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Binds to {@code address}; port 0 picks a free port, see {@link #getPort()}. */
+    public EstimationServer(EstimationService service, InetSocketAddress address) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/predict", handler(this::predict));
+        server.createContext("/model", handler(this::model));
+        server.createContext("/refit", handler(this::refit));
+        server.createContext("/metrics.json", handler(exchange -> respond(exchange, 200, "application/json", Metrics.toJson())));
+        server.createContext("/metrics", handler(exchange -> respond(exchange, 200, "text/plain; version=0.0.4", Metrics.toPrometheus())));
+    }
+
+    public EstimationServer start() {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Usage: {@code EstimationServer [--port 8080] [--host 127.0.0.1] [--history data.xlsx|data.effbin] [--watch]}
+     * <p>
+     * The history defaults to {@code -Deffort.data}, then to the bundled {@code data.xlsx}.
+     */
+    public static void main(String[] args) {
+        warnIfNoDelayMissing();
+        try {
+            int port = 8080;
+            String host = InetAddress.getLoopbackAddress().getHostAddress();
+            Path history = DatasetLoader.configuredPath();
+            boolean watch = false;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--watch")) {
+                    watch = true;
+                    continue;
+                }
+                if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--host" -> host = args[++i];
+                    case "--history" -> history = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            Path source = history;
+            EstimationService service = new EstimationService(
+                    () -> source == null ? DatasetLoader.loadDefault() : DatasetLoader.load(source));
+            if (watch) {
+                if (source == null) throw new IllegalArgumentException("--watch needs --history or -D" + DatasetLoader.DATA_PROPERTY);
+                service.watch(source);
+                System.out.println("Watching " + source.toAbsolutePath() + " for changes");
+            }
+            EstimationServer server = new EstimationServer(service, new InetSocketAddress(host, port)).start();
+            System.out.println("Estimation service listening on http://" + host + ":" + server.getPort());
+        } catch (Exception e) {
+            System.err.println("Could not start the estimation service: " + e);
+            System.exit(1);
+        }
+    }
+
+    static void warnIfNoDelayMissing() {
+        if (!Boolean.getBoolean(NODELAY_PROPERTY)) {
+            System.err.println("Warning: -D" + NODELAY_PROPERTY + "=true is not set; keep-alive responses "
+                    + "will wait ~40 ms on delayed ACKs");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    /** A request body over {@code MAX_BODY_BYTES}; answered with 413. */
+    private static final class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super("Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+    }
+
+    /** Turns oversized bodies into 413 responses, validation failures into 400 and anything else into 500. */
+    private static HttpHandler handler(Handler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (BodyTooLargeException e) {
+                error(exchange, 413, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                error(exchange, 400, e.getMessage());
+            } catch (RuntimeException | IOException e) {
+                error(exchange, 500, e.toString());
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private void predict(HttpExchange exchange) throws IOException {
+        long start = Metrics.start();
+        switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                String query = exchange.getRequestURI().getRawQuery();
+                double kloc = parsePositive(queryParam(query, "kloc"), "kloc");
+                String methodParam = queryParam(query, "method");
+                double method = methodParam == null ? DEFAULT_METHOD : parseNonNegative(methodParam, "method");
+                FittedModels models = service.current();
+                StringBuilder json = new StringBuilder(160);
+                appendEstimate(json.append("{\"model\": \"").append(Long.toHexString(models.fingerprint))
+                        .append("\", \"estimate\": "), models, kloc, method).append("}\n");
+                respond(exchange, 200, "application/json", json.toString());
+                PREDICT_TIME.stop(start);
+            }
+            case "POST" -> {
+                double[][] projects = parseBatch(new String(readBody(exchange), StandardCharsets.UTF_8));
+                FittedModels models = service.current();
+                StringBuilder json = new StringBuilder(64 + projects.length * 120);
+                json.append("{\"model\": \"").append(Long.toHexString(models.fingerprint)).append("\", \"estimates\": [");
+                for (int i = 0; i < projects.length; i++) {
+                    if (i > 0) json.append(", ");
+                    appendEstimate(json, models, projects[i][0], projects[i][1]);
+                }
+                json.append("]}\n");
+                respond(exchange, 200, "application/json", json.toString());
+                BATCH_TIME.stop(start);
+            }
+            default -> error(exchange, 405, "Use GET or POST");
+        }
+    }
+
+    private void model(HttpExchange exchange) throws IOException {
+        FittedModels m = service.current();
+        String json = "{\"model\": \"" + Long.toHexString(m.fingerprint) + "\""
+                + ", \"optimizer\": \"" + m.optimizer + "\""
+                + ", \"refitting\": " + service.isRefitting()
+                + ", \"cocomo\": {\"a\": " + FittedModels.COCOMO_A + ", \"b\": " + FittedModels.COCOMO_B + ", \"mmre\": " + number(m.mmreCocomo) + "}"
+                + ", \"regression\": {\"slope\": " + number(m.regressionSlope) + ", \"intercept\": " + number(m.regressionIntercept)
+                + ", \"mmre\": " + number(m.mmreRegression) + "}"
+                + ", \"pso\": {\"a\": " + number(m.psoA) + ", \"b\": " + number(m.psoB) + ", \"mmre\": " + number(m.mmrePso) + "}}\n";
+        respond(exchange, 200, "application/json", json);
+    }
+
+    private void refit(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            error(exchange, 405, "Use POST");
+            return;
+        }
+        byte[] body = readBody(exchange);
+        if (body.length == 0) {
+            service.refit();
+        } else {
+            DatasetBuilder builder = new DatasetBuilder();
+            ProjectReader.readCsv(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), builder);
+            if (builder.size() < 2) throw new IllegalArgumentException("Need at least two valid projects, got " + builder.getReport());
+            ColumnDataset dataset = builder.build();
+            service.refit(() -> dataset);
+        }
+        respond(exchange, 202, "application/json", "{\"status\": \"refitting\"}\n");
+    }
+
+    /**
+     * The request body, refusing anything over {@code MAX_BODY_BYTES}: up front when the client
+     * declares its length, otherwise as soon as more than that has arrived.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null) {
+            try {
+                if (Long.parseLong(declared.trim()) > MAX_BODY_BYTES) throw new BodyTooLargeException();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid Content-Length: " + declared);
+            }
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) throw new BodyTooLargeException();
+            return body;
+        }
+    }
+
+    private static StringBuilder appendEstimate(StringBuilder json, FittedModels models, double kloc, double method) {
+        return json.append("{\"kloc\": ").append(number(kloc))
+                .append(", \"method\": ").append(number(method))
+                .append(", \"cocomo\": ").append(number(models.predictCocomo(kloc, method)))
+                .append(", \"regression\": ").append(number(models.predictRegression(kloc)))
+                .append(", \"pso\": ").append(number(models.predictPso(kloc, method)))
+                .append('}');
+    }
+
+    /**
+     * Parses a JSON array whose elements are either a KLOC or a {@code [kloc, method]} pair.
+     * Nothing else is accepted, which keeps the parser a single pass with no object allocation
+     * beyond the result.
+     */
+    static double[][] parseBatch(String body) {
+        Cursor c = new Cursor(body);
+        c.expect('[');
+        double[][] out = new double[16][];
+        int n = 0;
+        if (!c.consume(']')) {
+            do {
+                if (n == MAX_BATCH) throw new IllegalArgumentException("Batch larger than " + MAX_BATCH + " projects");
+                double kloc;
+                double method = DEFAULT_METHOD;
+                if (c.consume('[')) {
+                    kloc = c.number();
+                    if (c.consume(',')) method = c.number();
+                    c.expect(']');
+                } else {
+                    kloc = c.number();
+                }
+                if (!(kloc > 0) || Double.isInfinite(kloc)) throw new IllegalArgumentException("kloc must be positive (project " + n + ")");
+                if (!(method >= 0) || Double.isInfinite(method)) throw new IllegalArgumentException("method must be non-negative (project " + n + ")");
+                if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                out[n++] = new double[]{kloc, method};
+            } while (c.consume(','));
+            c.expect(']');
+        }
+        c.end();
+        return Arrays.copyOf(out, n);
+    }
+
+    private static final class Cursor {
+        private final String s;
+        private int pos;
+
+        Cursor(String s) {
+            this.s = s;
+        }
+
+        private void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        boolean consume(char ch) {
+            skipWhitespace();
+            if (pos < s.length() && s.charAt(pos) == ch) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char ch) {
+            if (!consume(ch)) throw new IllegalArgumentException("Expected '" + ch + "' at offset " + pos);
+        }
+
+        double number() {
+            skipWhitespace();
+            int from = pos;
+            while (pos < s.length() && "+-.eE0123456789".indexOf(s.charAt(pos)) >= 0) pos++;
+            if (from == pos) throw new IllegalArgumentException("Expected a number at offset " + from);
+            try {
+                return Double.parseDouble(s.substring(from, pos));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number at offset " + from);
+            }
+        }
+
+        void end() {
+            skipWhitespace();
+            if (pos != s.length()) throw new IllegalArgumentException("Unexpected content at offset " + pos);
+        }
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) return null;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static double parsePositive(String value, String name) {
+        double v = parse(value, name);
+        if (!(v > 0) || Double.isInfinite(v)) throw new IllegalArgumentException(name + " must be positive");
+        return v;
+    }
+
+    private static double parseNonNegative(String value, String name) {
+        double v = parse(value, name);
+        if (!(v >= 0) || Double.isInfinite(v)) throw new IllegalArgumentException(name + " must be non-negative");
+        return v;
+    }
+
+    private static double parse(String value, String name) {
+        if (value == null) throw new IllegalArgumentException("Missing parameter " + name);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static String number(double v) {
+        return Double.isFinite(v) ? Double.toString(v) : "null";
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        ERRORS.increment();
+        String escaped = message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+        respond(exchange, status, "application/json", "{\"error\": \"" + escaped + "\"}\n");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves predictions from an immutable {@link FittedModels} held in an atomic reference, and
+ * refits on a single background thread. A refit builds a complete new model set and swaps it in
+ * with one write, so readers never wait for a fit and never see a half-updated model.
+ * <p>
+ * Refits start PSO from the live model's optimum. Requests that arrive while a refit is running
+ * are coalesced: the newest source is fitted next, and every caller in between gets the same
+ * future, completed with the newest models.
+ */
+public final class EstimationService implements AutoCloseable {
+
+    /** Supplies the history to fit; runs on the refit thread. */
+    @FunctionalInterface
+    public interface DatasetSource {
+        ColumnDataset load() throws IOException;
+    }
+
+    private final AtomicReference<FittedModels> models;
+    private final AtomicReference<DatasetSource> queued = new AtomicReference<>();
+    private CompletableFuture<FittedModels> pending; // guarded by this
+    private final ExecutorService refitExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "model-refit");
+        t.setDaemon(true);
+        return t;
+    });
+    private final DatasetSource defaultSource;
+    private DatasetWatcher watcher;
+
+    /** Fits {@code source} once, synchronously, before serving. */
+    public EstimationService(DatasetSource source) throws IOException {
+        this.defaultSource = source;
+        this.models = new AtomicReference<>(ModelCache.get(source.load()));
+    }
+
+    public FittedModels current() {
+        return models.get();
+    }
+
+    /** Refits from the source this service was created with. */
+    public CompletableFuture<FittedModels> refit() {
+        return refit(defaultSource);
+    }
+
+    public CompletableFuture<FittedModels> refit(DatasetSource source) {
+        queued.set(source);
+        synchronized (this) {
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                refitExecutor.execute(this::drain);
+            }
+            return pending;
+        }
+    }
+
+    /**
+     * Refits from {@code file} in the background whenever it changes on disk.
+     */
+    public synchronized void watch(Path file) throws IOException {
+        if (watcher != null) watcher.close();
+        watcher = new DatasetWatcher(file, dataset -> refit(() -> dataset));
+    }
+
+    private void drain() {
+        FittedModels fitted = null;
+        Throwable failure = null;
+        CompletableFuture<FittedModels> done;
+        while (true) {
+            DatasetSource source;
+            while ((source = queued.getAndSet(null)) != null) {
+                try {
+                    fitted = fit(source.load());
+                    models.set(fitted);
+                    failure = null;
+                } catch (Throwable e) {
+                    failure = e;
+                }
+            }
+            synchronized (this) {
+                if (queued.get() != null) continue;
+                done = pending;
+                pending = null;
+                break;
+            }
+        }
+        // A request whose source an earlier pass already consumed finds nothing left to fit.
+        if (failure == null) done.complete(fitted != null ? fitted : models.get());
+        else done.completeExceptionally(failure);
+    }
+
+    private FittedModels fit(ColumnDataset dataset) {
+        FittedModels previous = models.get();
+        SwarmConfig config = new SwarmConfig();
+        config.warmStarts = new double[][]{{previous.psoA, previous.psoB}};
+        return ModelCache.get(dataset, config);
+    }
+
+    public synchronized boolean isRefitting() {
+        return pending != null;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (watcher != null) watcher.close();
+        }
+        refitExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example;
+
+/**
+ * Scores a candidate (A, B) pair; lower is better. Implementations must be safe to call
+ * from several threads at once, since the swarm evaluates particles in parallel.
+ */
+@FunctionalInterface
+public interface FitnessFunction {
+    double evaluate(double a, double b);
+}
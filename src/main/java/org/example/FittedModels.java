@@ -0,0 +1,133 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Immutable result of fitting COCOMO, regression and PSO once against a dataset.
+ * All predictions are served from these coefficients, so no refit happens per call.
+ * The "PSO" coefficients come from the {@link Optimizers#configured() configured optimizer},
+ * which is particle swarm optimisation unless {@code -Deffort.optimizer} says otherwise.
+ */
+public final class FittedModels {
+
+    public static final double COCOMO_A = 2.94;
+    public static final double COCOMO_B = 1.1;
+
+    /**
+     * Histories at least this long are fitted on progressively larger stratified samples with
+     * memoised scoring; smaller ones are cheap enough to score in full every time.
+     */
+    public static final int SAMPLED_FIT_ROWS = 100_000;
+
+    /**
+     * Revision of {@link #fit}. Bump it whenever a fit of the same data with the same optimizer
+     * would return different coefficients, so {@link ModelSnapshot} stops serving older ones.
+     * 2: memo cells scored at their centre; 3: log-linear minimize and per-optimizer keys.
+     */
+    public static final int FIT_REVISION = 3;
+
+    private static final Metrics.Timer FIT_TIME = Metrics.timer("models.fit", "Time to fit COCOMO, regression and PSO on a dataset");
+
+    /** Identifies a fit: the dataset's fingerprint and the name of the optimizer that produced it. */
+    public record Key(long fingerprint, String optimizer) {
+    }
+
+    public final long fingerprint;
+    /** {@link Optimizer#name()} of the optimizer that produced the "PSO" coefficients. */
+    public final String optimizer;
+
+    public final double regressionSlope;
+    public final double regressionIntercept;
+
+    public final double psoA;
+    public final double psoB;
+
+    public final double mmreCocomo;
+    public final double mmreRegression;
+    public final double mmrePso;
+
+    public FittedModels(long fingerprint, String optimizer,
+                        double regressionSlope, double regressionIntercept,
+                        double psoA, double psoB,
+                        double mmreCocomo, double mmreRegression, double mmrePso) {
+        this.fingerprint = fingerprint;
+        this.optimizer = optimizer;
+        this.regressionSlope = regressionSlope;
+        this.regressionIntercept = regressionIntercept;
+        this.psoA = psoA;
+        this.psoB = psoB;
+        this.mmreCocomo = mmreCocomo;
+        this.mmreRegression = mmreRegression;
+        this.mmrePso = mmrePso;
+    }
+
+    public static FittedModels fit(ColumnDataset dataset) {
+        return fit(dataset, new SwarmConfig());
+    }
+
+    public static FittedModels fit(ColumnDataset dataset, SwarmConfig swarmConfig) {
+        return fit(dataset, Optimizers.configured(), swarmConfig);
+    }
+
+    public static FittedModels fit(ColumnDataset dataset, Optimizer optimizer, SwarmConfig swarmConfig) {
+        long start = Metrics.start();
+        MmreFitness fitness = new MmreFitness(dataset);
+        double mmreCocomo = fitness.evaluate(COCOMO_A, COCOMO_B);
+
+        IncrementalRegression regression = IncrementalRegression.fit(dataset.klocs, dataset.actualEfforts);
+        double m = regression.getSlope();
+        double c = regression.getIntercept();
+        double mmreRegression = regression.getMmre();
+
+        SwarmConfig config = swarmConfig.copy();
+        config.warmStarts = warmStarts(dataset, swarmConfig.warmStarts);
+        Particle best = optimizer.fit(dataset, config).toParticle();
+        double mmrePso = fitness.evaluate(best.a, best.b);
+
+        FittedModels models = new FittedModels(dataset.fingerprint(), optimizer.name(), m, c, best.a, best.b, mmreCocomo, mmreRegression, mmrePso);
+        FIT_TIME.stop(start);
+        return models;
+    }
+
+    /**
+     * The caller's warm starts (typically the previous optimum) plus the log-linear least-squares
+     * solution and the published COCOMO coefficients.
+     */
+    static double[][] warmStarts(ColumnDataset dataset, double[][] given) {
+        return warmStarts(dataset, null, given);
+    }
+
+    /** As {@link #warmStarts(ColumnDataset, double[][])}, solving log-linear over {@code rows} only; null means every row. */
+    static double[][] warmStarts(ColumnDataset dataset, int[] rows, double[][] given) {
+        int count = given == null ? 0 : given.length;
+        double[][] starts = new double[count + 2][];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (isUsable(given[i])) starts[n++] = given[i];
+        }
+        double[] analytic = LogLinearFit.solve(dataset, rows);
+        if (analytic != null && isUsable(analytic)) starts[n++] = analytic;
+        starts[n++] = new double[]{COCOMO_A, COCOMO_B};
+        return Arrays.copyOf(starts, n);
+    }
+
+    private static boolean isUsable(double[] position) {
+        return position.length == 2 && position[0] > 0 && Double.isFinite(position[0]) && Double.isFinite(position[1]);
+    }
+
+    public Key key() {
+        return new Key(fingerprint, optimizer);
+    }
+
+    public double predictCocomo(double kloc, double method) {
+        return COCOMO_A * Math.pow(kloc, COCOMO_B) * (method / 30.0);
+    }
+
+    public double predictRegression(double kloc) {
+        return regressionSlope * kloc + regressionIntercept;
+    }
+
+    public double predictPso(double kloc, double method) {
+        return psoA * Math.pow(kloc, psoB) * (method / 30.0);
+    }
+}
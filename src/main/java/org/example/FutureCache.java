@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Size-bounded LRU cache of values that are expensive to compute, such as model fits.
+ * <p>
+ * The first caller for a key computes the value on its own thread, outside any lock. Callers
+ * for the same key wait on its future, and callers for other keys (including cache hits) are
+ * never blocked by it. A failed or cancelled computation is dropped, and waiting callers then
+ * compute it again themselves. Recency is tracked separately under a short lock, and the least
+ * recently used keys are evicted once the cache holds more than {@code maxEntries}.
+ */
+final class FutureCache<K, V> {
+
+    /** Computes the value for a missing key. */
+    @FunctionalInterface
+    interface Loader<V> {
+        V load() throws Exception;
+    }
+
+    private final int maxEntries;
+    private final Metrics.Counter hits;
+    private final Metrics.Counter misses;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> entries = new ConcurrentHashMap<>();
+    private final LinkedHashMap<K, Boolean> recency = new LinkedHashMap<>(16, 0.75f, true); // guarded by itself
+
+    /** {@code hits} and {@code misses} may be null. */
+    FutureCache(int maxEntries, Metrics.Counter hits, Metrics.Counter misses) {
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * The cached value for {@code key}, computing it with {@code loader} if it is missing.
+     * Runtime exceptions from the loader are rethrown as they are; checked ones are wrapped.
+     */
+    V get(K key, Loader<V> loader) throws InterruptedException {
+        while (true) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> entry = entries.computeIfAbsent(key, k -> created);
+            touch(key);
+            if (entry == created) {
+                if (misses != null) misses.increment();
+                return load(key, created, loader);
+            }
+            if (hits != null) hits.increment();
+            try {
+                return entry.get();
+            } catch (ExecutionException e) {
+                // The computing caller failed or was cancelled and has removed the entry; try again.
+            }
+        }
+    }
+
+    private V load(K key, CompletableFuture<V> future, Loader<V> loader) throws InterruptedException {
+        try {
+            V value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (InterruptedException | RuntimeException | Error e) {
+            fail(key, future, e);
+            throw e;
+        } catch (Exception e) {
+            fail(key, future, e);
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void fail(K key, CompletableFuture<V> future, Throwable cause) {
+        entries.remove(key, future);
+        synchronized (recency) {
+            recency.remove(key);
+        }
+        future.completeExceptionally(cause);
+    }
+
+    private void touch(K key) {
+        synchronized (recency) {
+            recency.put(key, Boolean.TRUE);
+            Iterator<K> eldest = recency.keySet().iterator();
+            while (recency.size() > maxEntries) {
+                entries.remove(eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    void clear() {
+        synchronized (recency) {
+            entries.clear();
+            recency.clear();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example;
+
+/**
+ * Simple linear regression of effort on KLOC with O(1) add, remove and sliding-window updates.
+ * <p>
+ * Uses Welford-style running means and co-moments instead of raw sums of squares, so the
+ * slope stays accurate for large or badly scaled histories. MMRE is maintained the same way:
+ * each project added after the initial fit contributes the relative error of the line as it
+ * stood before that project was seen (prequential MMRE), so no pass over the history is needed.
+ */
+public class IncrementalRegression {
+
+    private final int window;
+    private final double[] windowX;
+    private final double[] windowY;
+    private final double[] windowMre;
+    private int head;
+
+    private long n;
+    private double meanX, meanY;
+    private double sxx, sxy;
+
+    private double mreSum;
+    private long mreCount;
+
+    /** Unbounded model: every added project stays in the fit until explicitly removed. */
+    public IncrementalRegression() {
+        this(0);
+    }
+
+    /** Sliding-window model over the last {@code window} projects; 0 means unbounded. */
+    public IncrementalRegression(int window) {
+        if (window < 0) throw new IllegalArgumentException("window must be >= 0");
+        this.window = window;
+        this.windowX = new double[window];
+        this.windowY = new double[window];
+        this.windowMre = new double[window];
+    }
+
+    /** Independent copy, including the sliding window and MMRE accumulators. */
+    public IncrementalRegression copy() {
+        IncrementalRegression copy = new IncrementalRegression(window);
+        System.arraycopy(windowX, 0, copy.windowX, 0, window);
+        System.arraycopy(windowY, 0, copy.windowY, 0, window);
+        System.arraycopy(windowMre, 0, copy.windowMre, 0, window);
+        copy.head = head;
+        copy.n = n;
+        copy.meanX = meanX;
+        copy.meanY = meanY;
+        copy.sxx = sxx;
+        copy.sxy = sxy;
+        copy.mreSum = mreSum;
+        copy.mreCount = mreCount;
+        return copy;
+    }
+
+    /** Fits the whole history in one pass and seeds MMRE with the in-sample value. */
+    public static IncrementalRegression fit(double[] klocs, double[] actualEfforts) {
+        IncrementalRegression model = new IncrementalRegression();
+        for (int i = 0; i < klocs.length; i++) {
+            model.accumulate(klocs[i], actualEfforts[i]);
+        }
+        for (int i = 0; i < klocs.length; i++) {
+            model.mreSum += model.relativeError(klocs[i], actualEfforts[i]);
+        }
+        model.mreCount = klocs.length;
+        return model;
+    }
+
+    /** As {@link #fit(double[], double[])} over the given rows only, without copying the columns. */
+    public static IncrementalRegression fit(double[] klocs, double[] actualEfforts, int[] rows) {
+        IncrementalRegression model = new IncrementalRegression();
+        for (int r : rows) {
+            model.accumulate(klocs[r], actualEfforts[r]);
+        }
+        for (int r : rows) {
+            model.mreSum += model.relativeError(klocs[r], actualEfforts[r]);
+        }
+        model.mreCount = rows.length;
+        return model;
+    }
+
+    public void add(double kloc, double actualEffort) {
+        double mre = n >= 2 ? relativeError(kloc, actualEffort) : Double.NaN;
+
+        if (window > 0) {
+            if (n == window) {
+                int oldest = head;
+                removePoint(windowX[oldest], windowY[oldest], windowMre[oldest]);
+            }
+            windowX[head] = kloc;
+            windowY[head] = actualEffort;
+            windowMre[head] = mre;
+            head = (head + 1) % window;
+        }
+
+        accumulate(kloc, actualEffort);
+        if (!Double.isNaN(mre)) {
+            mreSum += mre;
+            mreCount++;
+        }
+    }
+
+    /**
+     * Removes a project previously added to an unbounded model. Its MMRE contribution is
+     * taken from the current line, so after removals MMRE is an approximation.
+     */
+    public void remove(double kloc, double actualEffort) {
+        if (window > 0) throw new IllegalStateException("Windowed models evict automatically");
+        if (n == 0) throw new IllegalStateException("Model is empty");
+        removePoint(kloc, actualEffort, relativeError(kloc, actualEffort));
+    }
+
+    private void accumulate(double x, double y) {
+        n++;
+        double dx = x - meanX;
+        meanX += dx / n;
+        meanY += (y - meanY) / n;
+        sxx += dx * (x - meanX);
+        sxy += dx * (y - meanY);
+    }
+
+    private void removePoint(double x, double y, double mre) {
+        if (n == 1) {
+            n = 0;
+            meanX = meanY = sxx = sxy = 0;
+        } else {
+            long m = n - 1;
+            double meanXWithout = (n * meanX - x) / m;
+            double meanYWithout = (n * meanY - y) / m;
+            sxx -= (x - meanXWithout) * (x - meanX);
+            sxy -= (x - meanXWithout) * (y - meanY);
+            if (sxx < 0) sxx = 0;
+            meanX = meanXWithout;
+            meanY = meanYWithout;
+            n = m;
+        }
+        if (!Double.isNaN(mre) && mreCount > 0) {
+            mreSum = Math.max(0, mreSum - mre);
+            mreCount--;
+        }
+    }
+
+    private double relativeError(double x, double y) {
+        return Math.abs(y - predict(x)) / y;
+    }
+
+    public double getSlope() {
+        return sxx > 0 ? sxy / sxx : 0;
+    }
+
+    public double getIntercept() {
+        return meanY - getSlope() * meanX;
+    }
+
+    public double predict(double kloc) {
+        return getSlope() * kloc + getIntercept();
+    }
+
+    public double getMmre() {
+        return mreCount > 0 ? mreSum / mreCount : 0;
+    }
+
+    public long getCount() {
+        return n;
+    }
+}
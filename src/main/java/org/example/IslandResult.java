@@ -0,0 +1,57 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Best fit across all islands of an {@link IslandSwarm} run, plus the spread of the per-island
+ * results as a stability measure.
+ */
+public final class IslandResult {
+
+    public final SwarmResult best;
+    public final List<SwarmResult> islands;
+    public final double stdDevA;
+    public final double stdDevB;
+    public final double stdDevScore;
+    public final long evaluations;
+    public final long elapsedNanos;
+
+    public IslandResult(List<SwarmResult> islands, long elapsedNanos) {
+        this.islands = Collections.unmodifiableList(islands);
+        this.elapsedNanos = elapsedNanos;
+
+        SwarmResult bestSoFar = islands.get(0);
+        double meanA = 0, meanB = 0, meanScore = 0;
+        long evals = 0;
+        for (SwarmResult r : islands) {
+            if (r.score < bestSoFar.score) bestSoFar = r;
+            meanA += r.a;
+            meanB += r.b;
+            meanScore += r.score;
+            evals += r.evaluations;
+        }
+        int n = islands.size();
+        meanA /= n;
+        meanB /= n;
+        meanScore /= n;
+
+        double varA = 0, varB = 0, varScore = 0;
+        for (SwarmResult r : islands) {
+            varA += (r.a - meanA) * (r.a - meanA);
+            varB += (r.b - meanB) * (r.b - meanB);
+            varScore += (r.score - meanScore) * (r.score - meanScore);
+        }
+        this.best = bestSoFar;
+        this.stdDevA = Math.sqrt(varA / n);
+        this.stdDevB = Math.sqrt(varB / n);
+        this.stdDevScore = Math.sqrt(varScore / n);
+        this.evaluations = evals;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("best A %.4f, B %.4f, MMRE %.4f over %d islands (std A %.4f, B %.4f, MMRE %.5f), %d evaluations, %.1f ms",
+                best.a, best.b, best.score, islands.size(), stdDevA, stdDevB, stdDevScore, evaluations, elapsedNanos / 1e6);
+    }
+}
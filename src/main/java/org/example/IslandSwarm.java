@@ -0,0 +1,96 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+/**
+ * Island-model PSO: several independent swarms run concurrently, and every
+ * {@code migrationInterval} iterations exchange their best positions through a lock-free
+ * {@link SharedBest}. Islands are seeded from the template seed, and migration happens at
+ * barriers, so a given seed and island count give the same answer on any machine.
+ * <p>
+ * Each island runs on a virtual thread, which parks while it waits at a migration barrier, so
+ * the islands share the cores the machine has rather than needing one platform thread each.
+ */
+public class IslandSwarm {
+
+    private final VectorFitness fitness;
+    private final SearchSpace space;
+    private final SwarmConfig template;
+    private final int islands;
+    private final int migrationInterval;
+
+    public IslandSwarm(FitnessFunction fitness, SwarmConfig template, int islands, int migrationInterval) {
+        this(VectorFitness.of(fitness), SearchSpace.COCOMO, template, islands, migrationInterval);
+    }
+
+    public IslandSwarm(VectorFitness fitness, SearchSpace space, SwarmConfig template,
+                       int islands, int migrationInterval) {
+        if (islands < 1) throw new IllegalArgumentException("islands must be >= 1");
+        if (migrationInterval < 1) throw new IllegalArgumentException("migrationInterval must be >= 1");
+        this.fitness = fitness;
+        this.space = space;
+        this.template = template;
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+    }
+
+    /** Islands used by {@link #withDefaults}; fixed, so the answer does not depend on the core count. */
+    public static final int DEFAULT_ISLANDS = 4;
+
+    /** {@link #DEFAULT_ISLANDS} islands migrating every ten iterations. */
+    public static IslandSwarm withDefaults(FitnessFunction fitness, SwarmConfig template) {
+        return withDefaults(VectorFitness.of(fitness), SearchSpace.COCOMO, template);
+    }
+
+    public static IslandSwarm withDefaults(VectorFitness fitness, SearchSpace space, SwarmConfig template) {
+        return new IslandSwarm(fitness, space, template, DEFAULT_ISLANDS, 10);
+    }
+
+    public IslandResult optimize() {
+        SharedBest shared = new SharedBest();
+        Phaser phaser = new Phaser(islands);
+        SplittableRandom seeds = new SplittableRandom(template.seed);
+
+        List<ParallelSwarm> swarms = new ArrayList<>(islands);
+        for (int i = 0; i < islands; i++) {
+            SwarmConfig config = template.copy();
+            config.seed = seeds.nextLong();
+            config.threads = 1;
+            // Only the first island reports progress, so listeners see one iteration sequence.
+            if (i > 0) config.listener = null;
+            ParallelSwarm swarm = new ParallelSwarm(fitness, space, config);
+            swarm.connect(shared, phaser, migrationInterval);
+            swarms.add(swarm);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<SwarmResult>> futures = new ArrayList<>(islands);
+        try {
+            for (ParallelSwarm swarm : swarms) {
+                futures.add(pool.submit(swarm::optimize));
+            }
+            List<SwarmResult> results = new ArrayList<>(islands);
+            for (Future<SwarmResult> future : futures) {
+                results.add(future.get());
+            }
+            return new IslandResult(results, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Island PSO cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Island PSO failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts rows accepted and skipped while ingesting a sheet, keeping the first few skip reasons.
+ */
+public class LoadReport {
+
+    private static final int MAX_ISSUES = 50;
+
+    private int rowsAccepted;
+    private int rowsSkipped;
+    private final List<String> issues = new ArrayList<>();
+
+    public void accept() {
+        rowsAccepted++;
+    }
+
+    public void accept(int rows) {
+        rowsAccepted += rows;
+    }
+
+    public void skip(int rowNumber, String reason) {
+        rowsSkipped++;
+        if (issues.size() < MAX_ISSUES) {
+            issues.add("Row " + rowNumber + ": " + reason);
+        }
+    }
+
+    /** Adds another report's counts and, space permitting, its issues. */
+    public void merge(LoadReport other) {
+        rowsAccepted += other.rowsAccepted;
+        rowsSkipped += other.rowsSkipped;
+        for (String issue : other.issues) {
+            if (issues.size() == MAX_ISSUES) break;
+            issues.add(issue);
+        }
+    }
+
+    public int getRowsAccepted() {
+        return rowsAccepted;
+    }
+
+    public int getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public List<String> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows loaded, %d skipped", rowsAccepted, rowsSkipped);
+    }
+}
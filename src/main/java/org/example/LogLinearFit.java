@@ -0,0 +1,43 @@
+package org.example;
+
+/**
+ * Closed-form fit of {@code effort = a * kloc^b * eaf}: ordinary least squares of
+ * {@code log(effort / eaf)} on {@code log(kloc)}. It minimises squared log error rather than
+ * MMRE, so it is not the PSO optimum, but it lands close to it in one pass over the columns and
+ * makes a good starting point for the swarm.
+ */
+public final class LogLinearFit {
+
+    private LogLinearFit() {
+    }
+
+    /** {@code {a, b}}, or null if fewer than two rows have a positive EAF. */
+    public static double[] solve(ColumnDataset dataset) {
+        return solve(dataset, null);
+    }
+
+    /** As {@link #solve(ColumnDataset)} over the given rows only; null means every row. */
+    public static double[] solve(ColumnDataset dataset, int[] rows) {
+        int size = rows == null ? dataset.size() : rows.length;
+        long n = 0;
+        double meanX = 0, meanY = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < size; i++) {
+            int r = rows == null ? i : rows[i];
+            double eaf = dataset.eafs[r];
+            if (!(eaf > 0)) continue;
+            double x = dataset.logKlocs[r];
+            double y = Math.log(dataset.actualEfforts[r] / eaf);
+            n++;
+            double dx = x - meanX;
+            meanX += dx / n;
+            meanY += (y - meanY) / n;
+            sxx += dx * (x - meanX);
+            sxy += dx * (y - meanY);
+        }
+        if (n < 2) return null;
+        // All projects the same size: the exponent is unidentifiable, so assume linear scaling.
+        double b = sxx > 0 ? sxy / sxx : 1;
+        double a = Math.exp(meanY - b * meanX);
+        return new double[]{a, b};
+    }
+}
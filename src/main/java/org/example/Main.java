@@ -1,81 +1,61 @@
 package org.example;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
-import java.io.InputStream;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Main {
     public static void main(String[] args) {
         try {
-            // Load the Excel file from resources
-            InputStream excelStream = Main.class.getClassLoader().getResourceAsStream("data.xlsx");
-
-            if (excelStream == null) {
-                System.out.println("Excel file not found in resources folder!");
-                return;
-            }
-
-            Workbook workbook = new XSSFWorkbook(excelStream);
-            Sheet sheet = workbook.getSheetAt(0);
+            // Load the Excel file from resources (shared, parsed once)
+            ColumnDataset dataset = DatasetLoader.loadDefault();
+            int n = dataset.size();
 
-            double[] actualEfforts = new double[sheet.getLastRowNum()];
-            double[] predictedEfforts = new double[sheet.getLastRowNum()];
-            int index = 0;
-
-            // Read data from Excel and predict using default COCOMO model
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // Skip the header
-
-                double kloc = row.getCell(0).getNumericCellValue();
-                double method = row.getCell(1).getNumericCellValue();
-                double actualEffort = row.getCell(2).getNumericCellValue();
+            double[] actualEfforts = dataset.actualEfforts;
+            double[] predictedEfforts = new double[n];
 
+            // Predict using default COCOMO model
+            for (int i = 0; i < n; i++) {
                 double A = 2.94;
                 double B = 1.1;
-                double EAF = method / 30.0;
+                double EAF = dataset.methods[i] / 30.0;
 
-                double predictedEffort = A * Math.pow(kloc, B) * EAF;
-
-                actualEfforts[index] = actualEffort;
-                predictedEfforts[index] = predictedEffort;
-                index++;
+                predictedEfforts[i] = A * Math.pow(dataset.klocs[i], B) * EAF;
             }
 
             double mmre = calculateMMRE(actualEfforts, predictedEfforts);
             System.out.printf("Default COCOMO MMRE: %.4f%n", mmre);
 
-            // Build dataset for PSO
-            double[][] dataset = new double[actualEfforts.length][3];
-            for (int i = 0; i < actualEfforts.length; i++) {
-                Row row = sheet.getRow(i + 1);
-                dataset[i][0] = row.getCell(0).getNumericCellValue(); // KLOC
-                dataset[i][1] = row.getCell(1).getNumericCellValue(); // Method
-                dataset[i][2] = row.getCell(2).getNumericCellValue(); // Actual effort
-            }
-
             // Run PSO
-            Particle best = runPSO(dataset, 30, 100);
+            // Served from the model snapshot when this history was fitted in an earlier run
+            long fitStart = System.nanoTime();
+            FittedModels models = ModelCache.get(dataset);
+            Particle best = new Particle(models.psoA, models.psoB);
             System.out.printf("PSO Optimized A: %.4f | PSO Optimized B: %.4f%n", best.a, best.b);
+            System.out.printf("PSO models ready in %.1f ms%n", (System.nanoTime() - fitStart) / 1e6);
 
-            double[] optimizedPredicted = new double[dataset.length];
-            for (int i = 0; i < dataset.length; i++) {
-                double kloc = dataset[i][0];
-                double method = dataset[i][1];
-                double eaf = method / 30.0;
-                optimizedPredicted[i] = best.a * Math.pow(kloc, best.b) * eaf;
+            double[] optimizedPredicted = new double[n];
+            for (int i = 0; i < n; i++) {
+                double eaf = dataset.eafs[i];
+                optimizedPredicted[i] = best.a * Math.pow(dataset.klocs[i], best.b) * eaf;
             }
 
             double optimizedMMRE = calculateMMRE(actualEfforts, optimizedPredicted);
             System.out.printf("Optimized MMRE (after PSO): %.4f%n", optimizedMMRE);
 
-            // Run Linear Regression
-            double[] klocs = new double[dataset.length];
-            for (int i = 0; i < dataset.length; i++) {
-                klocs[i] = dataset[i][0];
+            // Calibrate the method rating's exponent alongside A and B
+            try {
+                CocomoIIFitness driverFitness = CocomoIIFitness.fromMethodColumn(dataset);
+                if (driverFitness.size() < n) {
+                    System.out.printf("Calibrating on %d of %d projects (method rating 0 left out)%n", driverFitness.size(), n);
+                }
+                SwarmResult calibrated = Optimizers.configured().minimize(driverFitness, driverFitness.searchSpace(), new SwarmConfig());
+                System.out.printf("Calibrated A: %.4f | B: %.4f | method exponent: %.4f | MMRE: %.4f%n",
+                        calibrated.position[0], calibrated.position[1], calibrated.position[2], calibrated.score);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Method calibration skipped: " + e.getMessage());
             }
 
-            double[] regressionPredicted = runLinearRegression(klocs, actualEfforts);
+            // Run Linear Regression
+            double[] regressionPredicted = runLinearRegression(dataset.klocs, actualEfforts);
             double regressionMMRE = calculateMMRE(actualEfforts, regressionPredicted);
             System.out.printf("Regression MMRE: %.4f%n", regressionMMRE);
 
@@ -84,10 +64,9 @@ public class Main {
             System.out.printf("Default COCOMO MMRE: %.4f%n", mmre);
             System.out.printf("PSO Optimized MMRE: %.4f%n", optimizedMMRE);
             System.out.printf("Linear Regression MMRE: %.4f%n", regressionMMRE);
-
-            workbook.close();
         } catch (Exception e) {
-            e.printStackTrace();
+            System.err.println("Estimation failed: " + e);
+            System.exit(1);
         }
     }
 
@@ -99,62 +78,14 @@ public class Main {
         return totalMRE / actual.length;
     }
 
+    /** The original fixed-iteration PSO; use {@link #runPSO(double[][], SwarmConfig)} for early stopping. */
     public static Particle runPSO(double[][] data, int numParticles, int maxIterations) {
-        Particle[] swarm = new Particle[numParticles];
-
-        double globalBestA = 0, globalBestB = 0;
-        double globalBestScore = Double.MAX_VALUE;
-
-        for (int i = 0; i < numParticles; i++) {
-            double a = 1 + Math.random() * 10;
-            double b = 0.5 + Math.random();
-            swarm[i] = new Particle(a, b);
-        }
-
-        for (int iter = 0; iter < maxIterations; iter++) {
-            for (Particle p : swarm) {
-                double[] actual = new double[data.length];
-                double[] predicted = new double[data.length];
-
-                for (int i = 0; i < data.length; i++) {
-                    double kloc = data[i][0];
-                    double method = data[i][1];
-                    double eaf = method / 30.0;
-                    actual[i] = data[i][2];
-                    predicted[i] = p.a * Math.pow(kloc, p.b) * eaf;
-                }
-
-                double score = calculateMMRE(actual, predicted);
-
-                if (score < p.bestScore) {
-                    p.bestScore = score;
-                    p.bestA = p.a;
-                    p.bestB = p.b;
-                }
-
-                if (score < globalBestScore) {
-                    globalBestScore = score;
-                    globalBestA = p.a;
-                    globalBestB = p.b;
-                }
-            }
-
-            for (Particle p : swarm) {
-                double w = 0.5;
-                double c1 = 1.5;
-                double c2 = 1.5;
-                double r1 = Math.random();
-                double r2 = Math.random();
-
-                p.velocityA = w * p.velocityA + c1 * r1 * (p.bestA - p.a) + c2 * r2 * (globalBestA - p.a);
-                p.velocityB = w * p.velocityB + c1 * r1 * (p.bestB - p.b) + c2 * r2 * (globalBestB - p.b);
-
-                p.a += p.velocityA;
-                p.b += p.velocityB;
-            }
-        }
+        return runPSO(data, SwarmConfig.classic(numParticles, maxIterations, ThreadLocalRandom.current().nextLong()));
+    }
 
-        return new Particle(globalBestA, globalBestB);
+    public static Particle runPSO(double[][] data, SwarmConfig config) {
+        FitnessFunction fitness = new MmreFitness(ColumnDataset.fromRows(data));
+        return new ParallelSwarm(fitness, config).run();
     }
 
     public static double[] runLinearRegression(double[] klocs, double[] actualEfforts) {
@@ -0,0 +1,134 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches scores for positions that repeat within {@code tolerance} per dimension. Late in a run
+ * most of the swarm sits on the global best, so many evaluations are repeats; each one costs a
+ * full pass over the data without this.
+ * <p>
+ * Positions are snapped to a grid of cell size {@code tolerance}, and every position in a cell
+ * gets the score of the cell's centre. A cell's value therefore does not depend on which position
+ * reached it first, so swarms sharing one memo across threads stay reproducible, and clearing
+ * the cache when it reaches {@code maxEntries} only costs recomputation. It is safe for concurrent
+ * use and keeps sample levels apart when wrapping a {@link SampledFitness}.
+ * <p>
+ * Lookups probe the cache with a per-thread scratch key and centre, so a hit allocates nothing;
+ * only an inserted cell gets its own copy of the grid coordinates.
+ */
+public final class MemoizedFitness implements SampledFitness {
+
+    private static final Metrics.Counter HITS = Metrics.counter("fitness.memo_hits", "Fitness evaluations served from the memo cache");
+    private static final Metrics.Counter MISSES = Metrics.counter("fitness.memo_misses", "Fitness evaluations computed");
+
+    private final VectorFitness delegate;
+    private final SampledFitness sampled;
+    private final int dimensions;
+    private final double tolerance;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Cell, Double> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final ThreadLocal<Scratch> scratch;
+
+    public MemoizedFitness(VectorFitness delegate, int dimensions, double tolerance) {
+        this(delegate, dimensions, tolerance, 100_000);
+    }
+
+    public MemoizedFitness(VectorFitness delegate, int dimensions, double tolerance, int maxEntries) {
+        if (!(tolerance > 0)) throw new IllegalArgumentException("tolerance must be positive");
+        this.delegate = delegate;
+        this.sampled = delegate instanceof SampledFitness s ? s : null;
+        this.dimensions = dimensions;
+        this.tolerance = tolerance;
+        this.maxEntries = maxEntries;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(dimensions));
+    }
+
+    @Override
+    public int levels() {
+        return sampled == null ? 0 : sampled.levels();
+    }
+
+    @Override
+    public int sampleSize(int level) {
+        return sampled.sampleSize(level);
+    }
+
+    @Override
+    public double evaluate(double[] position, int offset) {
+        return lookup(position, offset, -1);
+    }
+
+    @Override
+    public double evaluate(double[] position, int offset, int level) {
+        return lookup(position, offset, level);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    private double lookup(double[] position, int offset, int level) {
+        Scratch s = scratch.get();
+        Cell probe = s.probe;
+        for (int d = 0; d < dimensions; d++) {
+            probe.grid[d] = Math.round(position[offset + d] / tolerance);
+        }
+        probe.reset(level);
+        Double cached = cache.get(probe);
+        if (cached != null) {
+            hits.increment();
+            HITS.increment();
+            return cached;
+        }
+        MISSES.increment();
+        double[] centre = s.centre;
+        for (int d = 0; d < dimensions; d++) {
+            centre[d] = probe.grid[d] * tolerance;
+        }
+        double score = level < 0 ? delegate.evaluate(centre, 0) : sampled.evaluate(centre, 0, level);
+        if (cache.size() >= maxEntries) cache.clear();
+        cache.putIfAbsent(new Cell(probe.grid.clone(), level), score);
+        return score;
+    }
+
+    /** One thread's reusable probe key and centre point. */
+    private static final class Scratch {
+        final Cell probe;
+        final double[] centre;
+
+        Scratch(int dimensions) {
+            probe = new Cell(new long[dimensions], -1);
+            centre = new double[dimensions];
+        }
+    }
+
+    /** Grid cell and sample level. Cells in the cache are never modified; only scratch probes are {@link #reset}. */
+    private static final class Cell {
+        final long[] grid;
+        int level;
+        int hash;
+
+        Cell(long[] grid, int level) {
+            this.grid = grid;
+            reset(level);
+        }
+
+        void reset(int level) {
+            this.level = level;
+            this.hash = 31 * Arrays.hashCode(grid) + level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Cell c && c.level == level && Arrays.equals(c.grid, grid);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
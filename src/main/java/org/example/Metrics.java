@@ -0,0 +1,348 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Process-wide counters, gauges and latency histograms for load, fit and predict, exported as
+ * JSON or Prometheus text.
+ * <p>
+ * Recording is off unless {@code -Deffort.metrics=true} is set or {@link #setEnabled} is called.
+ * While off, {@link #start()} returns 0 and every record call returns after one volatile read, so
+ * instrumented hot paths cost nothing measurable. Recording itself uses {@link LongAdder}s and
+ * never locks.
+ * <p>
+ * {@code -Deffort.metrics.dump=file.json|file.prom} writes a snapshot at JVM exit, and
+ * {@code -Deffort.metrics.port=N} serves {@code /metrics} (Prometheus) and {@code /metrics.json}
+ * on the loopback interface.
+ */
+public final class Metrics {
+
+    /** Latency bucket upper bounds in seconds: 1, 2.5 and 5 per decade from 1 µs to 10 s. */
+    private static final double[] BUCKETS = {
+            1e-6, 2.5e-6, 5e-6, 1e-5, 2.5e-5, 5e-5, 1e-4, 2.5e-4, 5e-4, 1e-3, 2.5e-3, 5e-3,
+            1e-2, 2.5e-2, 5e-2, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final Map<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("effort.metrics");
+
+    static {
+        String dump = System.getProperty("effort.metrics.dump");
+        if (dump != null) {
+            enabled = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Path.of(dump));
+                } catch (IOException e) {
+                    System.err.println("Could not write metrics to " + dump + ": " + e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+        String port = System.getProperty("effort.metrics.port");
+        if (port != null) {
+            enabled = true;
+            try {
+                serve(Integer.parseInt(port));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not start metrics endpoint on port " + port + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /** Start of a timed section, or 0 when metrics are off; pass it to {@link Timer#stop}. */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static Counter counter(String name, String help) {
+        return register(new Counter(name, help));
+    }
+
+    public static Timer timer(String name, String help) {
+        return register(new Timer(name, help));
+    }
+
+    public static Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help, null));
+    }
+
+    /** A gauge computed from other metrics each time it is exported. */
+    public static Gauge gauge(String name, String help, DoubleSupplier value) {
+        return register(new Gauge(name, help, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M extends Metric> M register(M metric) {
+        Metric existing = REGISTRY.putIfAbsent(metric.name, metric);
+        if (existing == null) return metric;
+        if (existing.getClass() != metric.getClass()) {
+            throw new IllegalArgumentException("Metric " + metric.name + " is already registered as another type");
+        }
+        return (M) existing;
+    }
+
+    /** Zeroes every metric, keeping the registrations. */
+    public static void reset() {
+        REGISTRY.values().forEach(Metric::reset);
+    }
+
+    public static abstract sealed class Metric permits Counter, Timer, Gauge {
+        final String name;
+        final String help;
+
+        Metric(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        abstract void reset();
+
+        abstract void appendJson(StringBuilder out);
+
+        abstract void appendPrometheus(StringBuilder out);
+
+        String promName() {
+            return "effort_" + name.replace('.', '_');
+        }
+    }
+
+    public static final class Counter extends Metric {
+        private final LongAdder count = new LongAdder();
+
+        Counter(String name, String help) {
+            super(name, help);
+        }
+
+        public void increment() {
+            if (enabled) count.increment();
+        }
+
+        public void add(long n) {
+            if (enabled) count.add(n);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+
+        @Override
+        void reset() {
+            count.reset();
+        }
+
+        @Override
+        void appendJson(StringBuilder out) {
+            out.append(get());
+        }
+
+        @Override
+        void appendPrometheus(StringBuilder out) {
+            String prom = promName() + "_total";
+            out.append("# HELP ").append(prom).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(prom).append(" counter\n");
+            out.append(prom).append(' ').append(get()).append('\n');
+        }
+    }
+
+    public static final class Gauge extends Metric {
+        private final DoubleSupplier supplier;
+        private volatile double value;
+
+        Gauge(String name, String help, DoubleSupplier supplier) {
+            super(name, help);
+            this.supplier = supplier;
+        }
+
+        public void set(double v) {
+            if (enabled) value = v;
+        }
+
+        public double get() {
+            return supplier != null ? supplier.getAsDouble() : value;
+        }
+
+        @Override
+        void reset() {
+            value = 0;
+        }
+
+        @Override
+        void appendJson(StringBuilder out) {
+            out.append(jsonNumber(get()));
+        }
+
+        @Override
+        void appendPrometheus(StringBuilder out) {
+            String prom = promName();
+            out.append("# HELP ").append(prom).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(prom).append(" gauge\n");
+            out.append(prom).append(' ').append(promNumber(get())).append('\n');
+        }
+    }
+
+    /** Latency histogram with count, sum and max. */
+    public static final class Timer extends Metric {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+
+        Timer(String name, String help) {
+            super(name, help);
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        /** Records the time since {@code start}, a value from {@link Metrics#start()}; 0 is ignored. */
+        public void stop(long start) {
+            if (start != 0) record(System.nanoTime() - start);
+        }
+
+        public void record(long nanos) {
+            if (!enabled) return;
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            double seconds = nanos / 1e9;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                if (seconds <= BUCKETS[i]) {
+                    buckets[i].increment();
+                    return;
+                }
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalSeconds() {
+            return totalNanos.sum() / 1e9;
+        }
+
+        @Override
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (LongAdder bucket : buckets) bucket.reset();
+        }
+
+        @Override
+        void appendJson(StringBuilder out) {
+            long n = getCount();
+            double total = getTotalSeconds();
+            out.append("{\"count\": ").append(n)
+                    .append(", \"sum_seconds\": ").append(jsonNumber(total))
+                    .append(", \"mean_seconds\": ").append(jsonNumber(n > 0 ? total / n : Double.NaN))
+                    .append(", \"max_seconds\": ").append(jsonNumber(n > 0 ? maxNanos.get() / 1e9 : Double.NaN))
+                    .append(", \"buckets\": {");
+            for (int i = 0; i < BUCKETS.length; i++) {
+                if (i > 0) out.append(", ");
+                out.append('"').append(number(BUCKETS[i])).append("\": ").append(buckets[i].sum());
+            }
+            out.append("}}");
+        }
+
+        @Override
+        void appendPrometheus(StringBuilder out) {
+            String prom = promName() + "_seconds";
+            out.append("# HELP ").append(prom).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(prom).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                cumulative += buckets[i].sum();
+                out.append(prom).append("_bucket{le=\"").append(number(BUCKETS[i])).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            out.append(prom).append("_bucket{le=\"+Inf\"} ").append(getCount()).append('\n');
+            out.append(prom).append("_sum ").append(promNumber(getTotalSeconds())).append('\n');
+            out.append(prom).append("_count ").append(getCount()).append('\n');
+        }
+    }
+
+    public static String toJson() {
+        StringBuilder out = new StringBuilder("{");
+        boolean first = true;
+        for (Metric metric : REGISTRY.values()) {
+            out.append(first ? "\n  \"" : ",\n  \"").append(metric.name).append("\": ");
+            metric.appendJson(out);
+            first = false;
+        }
+        return out.append("\n}\n").toString();
+    }
+
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        for (Metric metric : REGISTRY.values()) {
+            metric.appendPrometheus(out);
+        }
+        return out.toString();
+    }
+
+    /** Writes a snapshot as JSON if {@code file} ends in {@code .json}, otherwise as Prometheus text. */
+    public static void dump(Path file) throws IOException {
+        String text = file.getFileName().toString().endsWith(".json") ? toJson() : toPrometheus();
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+    }
+
+    /** Serves {@code /metrics} and {@code /metrics.json} on the loopback interface. */
+    public static HttpServer serve(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics.json", exchange -> respond(exchange, "application/json", toJson()));
+        server.createContext("/metrics", exchange -> respond(exchange, "text/plain; version=0.0.4", toPrometheus()));
+        server.start();
+        return server;
+    }
+
+    static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /** JSON has no NaN or infinity, so "no value" is exported as {@code null}. */
+    private static String jsonNumber(double v) {
+        return Double.isFinite(v) ? number(v) : "null";
+    }
+
+    /** Prometheus text format spells non-finite samples {@code NaN}, {@code +Inf} and {@code -Inf}. */
+    private static String promNumber(double v) {
+        if (Double.isNaN(v)) return "NaN";
+        if (Double.isInfinite(v)) return v > 0 ? "+Inf" : "-Inf";
+        return number(v);
+    }
+
+    /** A finite value, without trailing zeros. */
+    private static String number(double v) {
+        return String.format(Locale.ROOT, "%.9g", v).replaceFirst("\\.?0+(e|$)", "$1");
+    }
+}
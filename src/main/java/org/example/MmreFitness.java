@@ -0,0 +1,56 @@
+package org.example;
+
+/**
+ * MMRE of {@code effort = a * kloc^b * eaf} over a {@link ColumnDataset}.
+ * <p>
+ * Prediction and relative error are fused into one branch-free pass over primitive columns,
+ * using {@code exp(b * log(kloc))} in place of {@code pow}. Nothing is allocated per call.
+ * An optional row index restricts the fit to a subset (a training fold, a bootstrap sample)
+ * while still reading the shared columns.
+ */
+public final class MmreFitness implements FitnessFunction {
+
+    private final double[] logKlocs;
+    private final double[] eafs;
+    private final double[] actualEfforts;
+    private final double[] inverseEfforts;
+    private final int[] rows;
+
+    public MmreFitness(ColumnDataset dataset) {
+        this(dataset, null);
+    }
+
+    /** Scores only the given rows of {@code dataset}; {@code rows} may repeat indices. */
+    public MmreFitness(ColumnDataset dataset, int[] rows) {
+        this.logKlocs = dataset.logKlocs;
+        this.eafs = dataset.eafs;
+        this.actualEfforts = dataset.actualEfforts;
+        this.inverseEfforts = dataset.inverseEfforts;
+        this.rows = rows;
+    }
+
+    @Override
+    public double evaluate(double a, double b) {
+        return rows == null ? evaluateAll(a, b) : evaluateRows(a, b);
+    }
+
+    private double evaluateAll(double a, double b) {
+        int n = logKlocs.length;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double predicted = a * Math.exp(b * logKlocs[i]) * eafs[i];
+            sum += Math.abs(actualEfforts[i] - predicted) * inverseEfforts[i];
+        }
+        return sum / n;
+    }
+
+    private double evaluateRows(double a, double b) {
+        int[] rows = this.rows;
+        double sum = 0;
+        for (int r : rows) {
+            double predicted = a * Math.exp(b * logKlocs[r]) * eafs[r];
+            sum += Math.abs(actualEfforts[r] - predicted) * inverseEfforts[r];
+        }
+        return sum / rows.length;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Size-bounded LRU cache of {@link FittedModels}, keyed by a fingerprint of the dataset columns
+ * and the name of the {@link Optimizers#configured() configured optimizer}, so switching
+ * {@code -Deffort.optimizer} never serves another solver's coefficients. A dataset is fitted at
+ * most once per optimizer while it stays in the cache. Misses are looked up in the
+ * {@link ModelSnapshot} file before fitting, and new fits are saved to it, so a history seen in
+ * an earlier launch is served without a fit.
+ * <p>
+ * Fits run on the calling thread outside any lock: a background refit only makes callers for
+ * the same dataset wait, never lookups of other datasets.
+ */
+public final class ModelCache {
+
+    private static final int MAX_ENTRIES = 8;
+
+    private static final Metrics.Counter HITS = Metrics.counter("model_cache.hits", "Model lookups served from the cache");
+    private static final Metrics.Counter MISSES = Metrics.counter("model_cache.misses", "Model lookups that needed a fit");
+
+    private static final FutureCache<FittedModels.Key, FittedModels> CACHE = new FutureCache<>(MAX_ENTRIES, HITS, MISSES);
+
+    static {
+        Metrics.gauge("model_cache.hit_ratio", "Share of model lookups served from the cache", () -> {
+            long hits = HITS.get();
+            long total = hits + MISSES.get();
+            return total > 0 ? (double) hits / total : 0;
+        });
+    }
+
+    private ModelCache() {
+    }
+
+    public static FittedModels get(ColumnDataset dataset) {
+        return get(dataset, new SwarmConfig());
+    }
+
+    /** As {@link #get(ColumnDataset)}, reporting PSO progress to {@code listener} if a fit is needed. */
+    public static FittedModels get(ColumnDataset dataset, SwarmListener listener) {
+        SwarmConfig config = new SwarmConfig();
+        config.listener = listener;
+        return get(dataset, config);
+    }
+
+    /** As {@link #get(ColumnDataset)}, fitting with {@code swarmConfig} if the dataset is not cached. */
+    public static FittedModels get(ColumnDataset dataset, SwarmConfig swarmConfig) {
+        Optimizer optimizer = Optimizers.configured();
+        FittedModels.Key key = key(dataset, optimizer);
+        try {
+            return CACHE.get(key, () -> {
+                FittedModels models = ModelSnapshot.lookup(key);
+                if (models == null) {
+                    models = FittedModels.fit(dataset, optimizer, swarmConfig);
+                    ModelSnapshot.store(models);
+                }
+                return models;
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a model fit");
+        }
+    }
+
+    static FittedModels.Key key(ColumnDataset dataset, Optimizer optimizer) {
+        return new FittedModels.Key(dataset.fingerprint(), optimizer.name());
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    public static long fingerprint(double[] klocs, double[] methods, double[] actualEfforts) {
+        long h = 0xcbf29ce484222325L ^ klocs.length;
+        h = mix(h, klocs);
+        h = mix(h, methods);
+        h = mix(h, actualEfforts);
+        return h;
+    }
+
+    private static long mix(long h, double[] column) {
+        for (double v : column) {
+            h ^= Double.doubleToLongBits(v);
+            h *= 0x100000001b3L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,191 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Fitted models persisted between launches, so a known history is served without refitting and
+ * PSO coefficients stay the same from one run to the next. Entries are keyed by dataset
+ * fingerprint and optimizer name, so a different {@code -Deffort.optimizer} fits afresh.
+ * <pre>
+ *   offset  0  int    magic "EFFM"
+ *   offset  4  int    format version
+ *   offset  8  int    entry count
+ *   offset 12  int    entry size in bytes
+ *   offset 16  long   fit revision ({@link FittedModels#FIT_REVISION})
+ *   offset 24  long   CRC32 of the entries
+ *   offset 32  entries, oldest first:
+ *              long fingerprint,
+ *              byte[32] optimizer name, UTF-8, zero-padded,
+ *              double COCOMO A, COCOMO B, regression slope, regression intercept, PSO A, PSO B,
+ *              double MMRE COCOMO, MMRE regression, MMRE PSO
+ * </pre>
+ * Everything is little-endian. The file keeps the {@code MAX_ENTRIES} most recently saved
+ * datasets, is read into memory once, and is rewritten through a temporary file and a rename so
+ * a crash never leaves it half-written. Entries saved with other COCOMO constants or by another
+ * fit revision are ignored, as are models from optimizers whose name does not fit the field.
+ * <p>
+ * The location is {@code -Deffort.snapshot=path}, defaulting to
+ * {@code ~/.effort-estimation/models.snapshot}; {@code -Deffort.snapshot=none} turns it off.
+ * A missing, corrupt or unwritable snapshot only costs a refit.
+ */
+public final class ModelSnapshot {
+
+    public static final String PROPERTY = "effort.snapshot";
+
+    private static final int MAGIC = 0x4d464645; // "EFFM" read little-endian
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 32;
+    private static final int NAME_BYTES = 32;
+    private static final int ENTRY_BYTES = Long.BYTES + NAME_BYTES + 9 * Double.BYTES;
+    private static final int MAX_ENTRIES = 8;
+
+    private static final Metrics.Counter HITS = Metrics.counter("model_snapshot.hits", "Model lookups served from the snapshot file");
+
+    private static Map<FittedModels.Key, FittedModels> entries; // loaded on first use; insertion order = save order
+
+    private ModelSnapshot() {
+    }
+
+    /** The configured snapshot file, or null when snapshots are turned off. */
+    public static Path configuredPath() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured == null) return Path.of(System.getProperty("user.home"), ".effort-estimation", "models.snapshot");
+        if (configured.isBlank() || configured.equalsIgnoreCase("none")) return null;
+        return Path.of(configured);
+    }
+
+    /** Models saved for this dataset fingerprint and optimizer, or null. */
+    public static synchronized FittedModels lookup(FittedModels.Key key) {
+        FittedModels models = entries().get(key);
+        if (models != null) HITS.increment();
+        return models;
+    }
+
+    /** Records {@code models} and rewrites the snapshot file; failures are reported, not thrown. */
+    public static synchronized void store(FittedModels models) {
+        Map<FittedModels.Key, FittedModels> current = entries();
+        current.remove(models.key());
+        current.put(models.key(), models);
+        while (current.size() > MAX_ENTRIES) {
+            current.remove(current.keySet().iterator().next());
+        }
+        Path file = configuredPath();
+        if (file == null) return;
+        try {
+            write(current, file);
+        } catch (IOException e) {
+            System.err.println("Could not save model snapshot to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<FittedModels.Key, FittedModels> entries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>();
+            Path file = configuredPath();
+            if (file != null && Files.exists(file)) {
+                try {
+                    entries.putAll(read(file));
+                } catch (IOException e) {
+                    System.err.println("Ignoring model snapshot " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return entries;
+    }
+
+    public static void write(Map<FittedModels.Key, FittedModels> models, Path file) throws IOException {
+        List<FittedModels> saved = new ArrayList<>();
+        for (FittedModels m : models.values()) {
+            if (m.optimizer.getBytes(StandardCharsets.UTF_8).length <= NAME_BYTES) saved.add(m);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(saved.size() * ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (FittedModels m : saved) {
+            byte[] name = m.optimizer.getBytes(StandardCharsets.UTF_8);
+            payload.putLong(m.fingerprint)
+                    .put(name).put(new byte[NAME_BYTES - name.length])
+                    .putDouble(FittedModels.COCOMO_A).putDouble(FittedModels.COCOMO_B)
+                    .putDouble(m.regressionSlope).putDouble(m.regressionIntercept)
+                    .putDouble(m.psoA).putDouble(m.psoB)
+                    .putDouble(m.mmreCocomo).putDouble(m.mmreRegression).putDouble(m.mmrePso);
+        }
+        payload.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(saved.size()).putInt(ENTRY_BYTES)
+                .putLong(FittedModels.FIT_REVISION).putLong(crc.getValue()).flip();
+
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) channel.write(header);
+                while (payload.hasRemaining()) channel.write(payload);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static Map<FittedModels.Key, FittedModels> read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < HEADER_BYTES) throw new IOException("Truncated model snapshot: " + file);
+        if (buffer.getInt(0) != MAGIC) throw new IOException("Not a model snapshot: " + file);
+        int version = buffer.getInt(4);
+        if (version != VERSION) throw new IOException("Unsupported model snapshot version " + version + ": " + file);
+        int count = buffer.getInt(8);
+        int entryBytes = buffer.getInt(12);
+        long fitRevision = buffer.getLong(16);
+        long expectedCrc = buffer.getLong(24);
+        if (count < 0 || entryBytes != ENTRY_BYTES || buffer.limit() != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+            throw new IOException("Model snapshot size does not match its header: " + file);
+        }
+        ByteBuffer payload = buffer.slice(HEADER_BYTES, count * ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != expectedCrc) throw new IOException("Model snapshot checksum mismatch: " + file);
+
+        Map<FittedModels.Key, FittedModels> models = new LinkedHashMap<>();
+        if (fitRevision != FittedModels.FIT_REVISION) return models;
+        for (int i = 0; i < count; i++) {
+            long fingerprint = payload.getLong();
+            byte[] name = new byte[NAME_BYTES];
+            payload.get(name);
+            int length = 0;
+            while (length < NAME_BYTES && name[length] != 0) length++;
+            String optimizer = new String(name, 0, length, StandardCharsets.UTF_8);
+            double cocomoA = payload.getDouble();
+            double cocomoB = payload.getDouble();
+            FittedModels m = new FittedModels(fingerprint, optimizer,
+                    payload.getDouble(), payload.getDouble(),
+                    payload.getDouble(), payload.getDouble(),
+                    payload.getDouble(), payload.getDouble(), payload.getDouble());
+            if (cocomoA == FittedModels.COCOMO_A && cocomoB == FittedModels.COCOMO_B) {
+                models.put(m.key(), m);
+            }
+        }
+        return models;
+    }
+}
@@ -0,0 +1,190 @@
+package org.example;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Nelder-Mead downhill simplex with the standard coefficients (reflection 1, expansion 2,
+ * contraction and shrink 1/2). It starts from the best of the configured warm starts, or the
+ * centre of the search space, so given the log-linear solution it acts as a cheap MMRE
+ * refinement of it.
+ * <p>
+ * A simplex whose scores agree to within a hundredth of {@link SwarmConfig#stagnationTolerance}
+ * is restarted around its best vertex, since MMRE has kinks where the simplex can collapse
+ * early; the run stops when a restart no longer improves the score. The evaluation budget is
+ * that of a full PSO run, {@code numParticles * maxIterations}. Runs are deterministic and
+ * single-threaded.
+ */
+public final class NelderMead implements Optimizer {
+
+    /** Initial simplex edge, as a fraction of each dimension's search range. */
+    private static final double INITIAL_STEP = 0.1;
+
+    /**
+     * The simplex's score spread must fall this far below the swarm's stagnation tolerance: a
+     * simplex stops on its own spread rather than on lack of progress, and stopping at 1e-4 left
+     * measurable MMRE on the table.
+     */
+    private static final double SPREAD_FACTOR = 0.01;
+
+    @Override
+    public String name() {
+        return "nelder-mead";
+    }
+
+    @Override
+    public SwarmResult minimize(VectorFitness fitness, SearchSpace space, SwarmConfig config) {
+        long startTime = System.nanoTime();
+        int dims = space.dimensions();
+        long budget = (long) config.numParticles * config.maxIterations;
+        Counter counter = new Counter(fitness);
+
+        double[] start = new double[dims];
+        for (int d = 0; d < dims; d++) start[d] = space.lower(d) + space.range(d) / 2;
+        double startScore = counter.evaluate(start);
+        if (config.warmStarts != null) {
+            for (double[] warm : config.warmStarts) {
+                if (warm.length != dims) {
+                    throw new IllegalArgumentException("Warm start has " + warm.length + " dimensions, expected " + dims);
+                }
+                double score = counter.evaluate(warm);
+                if (score < startScore) {
+                    start = warm.clone();
+                    startScore = score;
+                }
+            }
+        }
+
+        double[][] simplex = new double[dims + 1][];
+        double[] scores = new double[dims + 1];
+        double[] best = start;
+        double bestScore = startScore;
+        int iterations = 0;
+        SwarmResult.StopReason reason = SwarmResult.StopReason.MAX_ITERATIONS;
+
+        restarts:
+        while (counter.count < budget) {
+            simplex[0] = best.clone();
+            scores[0] = bestScore;
+            for (int i = 1; i <= dims; i++) {
+                simplex[i] = best.clone();
+                simplex[i][i - 1] += INITIAL_STEP * space.range(i - 1);
+                scores[i] = counter.evaluate(simplex[i]);
+            }
+            double restartScore = bestScore;
+
+            while (counter.count < budget) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Nelder-Mead cancelled after " + iterations + " iterations");
+                }
+                sort(simplex, scores);
+                iterations++;
+                if (config.listener != null) {
+                    config.listener.onIteration(iterations, config.maxIterations, scores[0]);
+                }
+                double spread = scores[dims] - scores[0];
+                if (spread <= SPREAD_FACTOR * config.stagnationTolerance * Math.abs(scores[0])
+                        || diameter(simplex, space) < config.diameterThreshold) {
+                    boolean improved = scores[0] < restartScore - config.stagnationTolerance * Math.abs(restartScore);
+                    best = simplex[0];
+                    bestScore = scores[0];
+                    if (improved) continue restarts;
+                    reason = SwarmResult.StopReason.CONVERGED;
+                    break restarts;
+                }
+
+                double[] centroid = new double[dims];
+                for (int i = 0; i < dims; i++) {
+                    for (int d = 0; d < dims; d++) centroid[d] += simplex[i][d] / dims;
+                }
+                double[] worst = simplex[dims];
+                double[] reflected = along(centroid, worst, -1);
+                double reflectedScore = counter.evaluate(reflected);
+                if (reflectedScore < scores[0]) {
+                    double[] expanded = along(centroid, worst, -2);
+                    double expandedScore = counter.evaluate(expanded);
+                    if (expandedScore < reflectedScore) replaceWorst(simplex, scores, expanded, expandedScore);
+                    else replaceWorst(simplex, scores, reflected, reflectedScore);
+                } else if (reflectedScore < scores[dims - 1]) {
+                    replaceWorst(simplex, scores, reflected, reflectedScore);
+                } else {
+                    boolean outside = reflectedScore < scores[dims];
+                    double[] contracted = along(centroid, worst, outside ? -0.5 : 0.5);
+                    double contractedScore = counter.evaluate(contracted);
+                    if (contractedScore < Math.min(reflectedScore, scores[dims])) {
+                        replaceWorst(simplex, scores, contracted, contractedScore);
+                    } else {
+                        for (int i = 1; i <= dims; i++) {
+                            for (int d = 0; d < dims; d++) {
+                                simplex[i][d] = simplex[0][d] + 0.5 * (simplex[i][d] - simplex[0][d]);
+                            }
+                            scores[i] = counter.evaluate(simplex[i]);
+                        }
+                    }
+                }
+            }
+            sort(simplex, scores);
+            if (scores[0] < bestScore) {
+                best = simplex[0];
+                bestScore = scores[0];
+            }
+        }
+        return new SwarmResult(best.clone(), bestScore, iterations, counter.count, System.nanoTime() - startTime, reason);
+    }
+
+    /** {@code centroid + t * (point - centroid)}. */
+    private static double[] along(double[] centroid, double[] point, double t) {
+        double[] result = new double[centroid.length];
+        for (int d = 0; d < centroid.length; d++) {
+            result[d] = centroid[d] + t * (point[d] - centroid[d]);
+        }
+        return result;
+    }
+
+    private static void replaceWorst(double[][] simplex, double[] scores, double[] vertex, double score) {
+        simplex[simplex.length - 1] = vertex;
+        scores[scores.length - 1] = score;
+    }
+
+    /** Insertion sort by score; the simplex has only dims + 1 vertices. */
+    private static void sort(double[][] simplex, double[] scores) {
+        for (int i = 1; i < scores.length; i++) {
+            double[] vertex = simplex[i];
+            double score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] > score) {
+                simplex[j + 1] = simplex[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            simplex[j + 1] = vertex;
+            scores[j + 1] = score;
+        }
+    }
+
+    /** Largest distance from any vertex to the best, each axis scaled by its search range. */
+    private static double diameter(double[][] simplex, SearchSpace space) {
+        double max = 0;
+        for (int i = 1; i < simplex.length; i++) {
+            for (int d = 0; d < simplex[0].length; d++) {
+                max = Math.max(max, Math.abs(simplex[i][d] - simplex[0][d]) / space.range(d));
+            }
+        }
+        return max;
+    }
+
+    private static final class Counter {
+        final VectorFitness fitness;
+        long count;
+
+        Counter(VectorFitness fitness) {
+            this.fitness = fitness;
+        }
+
+        double evaluate(double[] position) {
+            count++;
+            double score = fitness.evaluate(position, 0);
+            // Overflowing or undefined predictions rank last instead of poisoning comparisons.
+            return Double.isNaN(score) ? Double.MAX_VALUE : score;
+        }
+    }
+}
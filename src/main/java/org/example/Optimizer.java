@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * A search strategy for calibrating the effort model. Implementations are discovered with
+ * {@link java.util.ServiceLoader} (see {@link Optimizers}) and need a public no-argument
+ * constructor.
+ * <p>
+ * Every implementation reads its budget, seed, stopping tolerances and warm starts from the same
+ * {@link SwarmConfig} and reports evaluations, wall time and final score in a
+ * {@link SwarmResult}, so solvers can be compared like for like.
+ */
+public interface Optimizer {
+
+    /** Short name used to select the optimizer, e.g. with {@code -Deffort.optimizer=name}. */
+    String name();
+
+    /** Minimises {@code fitness}, starting inside {@code space}. */
+    SwarmResult minimize(VectorFitness fitness, SearchSpace space, SwarmConfig config);
+
+    /** Fits {@code effort = a * kloc^b * eaf} to {@code dataset} by MMRE. */
+    default SwarmResult fit(ColumnDataset dataset, SwarmConfig config) {
+        return fit(dataset, null, config);
+    }
+
+    /**
+     * As {@link #fit(ColumnDataset, SwarmConfig)} over the given rows only (a training fold, a
+     * bootstrap sample); null means every row.
+     */
+    default SwarmResult fit(ColumnDataset dataset, int[] rows, SwarmConfig config) {
+        return minimize(VectorFitness.of(new MmreFitness(dataset, rows)), SearchSpace.COCOMO, config);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.StringJoiner;
+
+/**
+ * Looks up {@link Optimizer} implementations registered in
+ * {@code META-INF/services/org.example.Optimizer}. The model fit uses the one named by
+ * {@code -Deffort.optimizer}, PSO by default. {@link #main} compares every registered optimizer
+ * on a history, so the cheapest one that meets an accuracy target can be picked.
+ */
+public final class Optimizers {
+
+    public static final String PROPERTY = "effort.optimizer";
+    public static final String DEFAULT = "pso";
+
+    private static final List<Optimizer> ALL = load();
+
+    private Optimizers() {
+    }
+
+    private static List<Optimizer> load() {
+        List<Optimizer> optimizers = new ArrayList<>();
+        ServiceLoader.load(Optimizer.class, Optimizers.class.getClassLoader()).forEach(optimizers::add);
+        return List.copyOf(optimizers);
+    }
+
+    public static List<Optimizer> all() {
+        return ALL;
+    }
+
+    public static Optimizer byName(String name) {
+        StringJoiner known = new StringJoiner(", ");
+        for (Optimizer optimizer : ALL) {
+            if (optimizer.name().equalsIgnoreCase(name)) return optimizer;
+            known.add(optimizer.name());
+        }
+        throw new IllegalArgumentException("Unknown optimizer \"" + name + "\"; available: " + known);
+    }
+
+    public static Optimizer configured() {
+        return byName(System.getProperty(PROPERTY, DEFAULT));
+    }
+
+    /**
+     * Usage: {@code Optimizers [history.xlsx|.csv|.effbin] [--runs N]}. Fits the history with every
+     * optimizer from the same warm starts as the model fit, over seeds 1..N, and prints mean
+     * evaluations, wall time and MMRE.
+     */
+    public static void main(String[] args) {
+        try {
+            Path history = null;
+            int runs = 10;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--runs") && i + 1 < args.length) runs = Integer.parseInt(args[++i]);
+                else history = Path.of(args[i]);
+            }
+            ColumnDataset dataset = history == null ? DatasetLoader.loadDefault() : DatasetLoader.load(history);
+            System.out.printf("%d projects, %d runs per optimizer%n", dataset.size(), runs);
+            System.out.printf("%-24s %12s %12s %12s %12s%n", "Optimizer", "Evaluations", "Time (ms)", "MMRE", "Worst MMRE");
+            for (Optimizer optimizer : ALL) {
+                double evaluations = 0, millis = 0, mmre = 0, worst = 0;
+                for (int seed = 1; seed <= runs; seed++) {
+                    SwarmConfig config = new SwarmConfig();
+                    config.seed = seed;
+                    config.warmStarts = FittedModels.warmStarts(dataset, null);
+                    SwarmResult result = optimizer.fit(dataset, config);
+                    evaluations += result.evaluations;
+                    millis += result.elapsedNanos / 1e6;
+                    mmre += result.score;
+                    worst = Math.max(worst, result.score);
+                }
+                System.out.printf("%-24s %12.0f %12.2f %12.6f %12.6f%n",
+                        optimizer.name(), evaluations / runs, millis / runs, mmre / runs, worst);
+            }
+        } catch (Exception e) {
+            System.err.println("Optimizer comparison failed: " + e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * N-dimensional particle swarm optimiser that evaluates particle fitness across a fork-join pool.
+ * <p>
+ * Positions, velocities and personal bests live in flat {@code double[particles * dimensions]}
+ * arrays, so a 24-dimensional COCOMO II calibration touches the same few arrays per evaluation
+ * as the original 2-D (A, B) search.
+ * <p>
+ * Every particle owns a {@link SplittableRandom} split from the configured seed, and the
+ * global best is reduced in particle order after each evaluation pass, so a given seed
+ * produces the same result whatever the thread count.
+ * <p>
+ * When the fitness is a {@link SampledFitness} the swarm scores on its smallest sample first
+ * and moves up a sample each time it stalls, rescoring the personal bests so the scores it
+ * compares always come from the same rows. Before returning, the personal bests are rescored on
+ * the full data, so the reported best and score are exact.
+ * <p>
+ * Interrupting the calling thread stops the run at the next iteration boundary with a
+ * {@link CancellationException}.
+ * <p>
+ * Runs with more than one thread borrow a long-lived pool instead of starting their own: the
+ * common pool when its parallelism matches, otherwise one shared pool per thread count.
+ */
+public class ParallelSwarm {
+
+    private static final Metrics.Timer RUN_TIME = Metrics.timer("pso.run", "Wall time of one swarm run");
+    private static final Metrics.Counter ITERATIONS = Metrics.counter("pso.iterations", "PSO iterations completed");
+    private static final Metrics.Counter EVALUATIONS = Metrics.counter("pso.evaluations", "Fitness evaluations performed");
+
+    private static final ConcurrentHashMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    static {
+        Metrics.gauge("pso.evaluations_per_second", "Fitness evaluations per second of swarm wall time", () -> {
+            double seconds = RUN_TIME.getTotalSeconds();
+            return seconds > 0 ? EVALUATIONS.get() / seconds : 0;
+        });
+    }
+
+    private final VectorFitness fitness;
+    private final SampledFitness sampled;
+    private final SearchSpace space;
+    private final SwarmConfig config;
+    private final int particles;
+    private final int dims;
+
+    private final double[] positions;
+    private final double[] velocities;
+    private final double[] bestPositions;
+    private final double[] bestScores;
+    private final double[] scores;
+    private final SplittableRandom[] randoms;
+
+    private final double[] globalBest;
+    private double globalBestScore = Double.MAX_VALUE;
+
+    /** Current sample level; {@code levels} (or 0 without sampling) scores on the full data. */
+    private int level;
+    private final int levels;
+    private long evaluations;
+
+    private SharedBest shared;
+    private Phaser migrationPhaser;
+    private int migrationInterval;
+
+    /** Two-dimensional (A, B) search over {@link SearchSpace#COCOMO}. */
+    public ParallelSwarm(FitnessFunction fitness, SwarmConfig config) {
+        this(VectorFitness.of(fitness), SearchSpace.COCOMO, config);
+    }
+
+    public ParallelSwarm(VectorFitness fitness, SearchSpace space, SwarmConfig config) {
+        this.fitness = fitness;
+        this.sampled = fitness instanceof SampledFitness s && s.levels() > 0 ? s : null;
+        this.levels = sampled != null ? sampled.levels() : 0;
+        this.space = space;
+        this.config = config;
+        this.particles = config.numParticles;
+        this.dims = space.dimensions();
+
+        this.positions = new double[particles * dims];
+        this.velocities = new double[particles * dims];
+        this.bestPositions = new double[particles * dims];
+        this.bestScores = new double[particles];
+        this.scores = new double[particles];
+        this.randoms = new SplittableRandom[particles];
+        this.globalBest = new double[dims];
+
+        Arrays.fill(bestScores, Double.MAX_VALUE);
+        SplittableRandom master = new SplittableRandom(config.seed);
+        for (int i = 0; i < particles; i++) {
+            randoms[i] = master.split();
+            int base = i * dims;
+            for (int d = 0; d < dims; d++) {
+                positions[base + d] = space.lower(d) + randoms[i].nextDouble() * space.range(d);
+            }
+        }
+        if (config.warmStarts != null && config.warmStarts.length > 0) {
+            seedWarmStarts(config.warmStarts, config.warmStartFraction, config.warmStartSpread);
+        }
+        System.arraycopy(positions, 0, bestPositions, 0, positions.length);
+    }
+
+    /**
+     * Moves the first {@code fraction} of the swarm onto the warm starts, round-robin: the first
+     * pass lands exactly on each, later passes are jittered uniformly by up to {@code spread} of
+     * the range. The random initial draws are made regardless, so unseeded particles start where
+     * they would without warm starts.
+     */
+    private void seedWarmStarts(double[][] starts, double fraction, double spread) {
+        for (double[] start : starts) {
+            if (start.length != dims) {
+                throw new IllegalArgumentException("Warm start has " + start.length + " dimensions, expected " + dims);
+            }
+        }
+        int seeded = Math.min(particles, Math.max(starts.length, (int) Math.round(particles * fraction)));
+        for (int i = 0; i < seeded; i++) {
+            double[] start = starts[i % starts.length];
+            boolean exact = i < starts.length;
+            int base = i * dims;
+            for (int d = 0; d < dims; d++) {
+                double jitter = exact ? 0 : (randoms[i].nextDouble() * 2 - 1) * spread * space.range(d);
+                positions[base + d] = start[d] + jitter;
+            }
+        }
+    }
+
+    /**
+     * Joins this swarm to an island group: every {@code interval} iterations it publishes its best
+     * to {@code shared}, waits for the other islands on {@code phaser}, and adopts the shared best
+     * into its worst particle if that is better. The swarm must be registered with the phaser.
+     */
+    void connect(SharedBest shared, Phaser phaser, int interval) {
+        this.shared = shared;
+        this.migrationPhaser = phaser;
+        this.migrationInterval = interval;
+    }
+
+    /** Runs the search and returns the best (A, B); only meaningful for 2-D searches. */
+    public Particle run() {
+        return optimize().toParticle();
+    }
+
+    public SwarmResult optimize() {
+        long start = System.nanoTime();
+        long deadline = config.timeBudgetMillis > 0 ? start + config.timeBudgetMillis * 1_000_000L : Long.MAX_VALUE;
+        SwarmResult.StopReason reason = SwarmResult.StopReason.MAX_ITERATIONS;
+        double lastImprovementScore = Double.MAX_VALUE;
+        int lastImprovementIter = 0;
+        int iterations = 0;
+
+        ForkJoinPool pool = poolFor(config.threads);
+        try {
+            for (int iter = 0; iter < config.maxIterations; iter++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("PSO cancelled after " + iter + " iterations");
+                }
+                evaluate(pool);
+                updateGlobalBest();
+                iterations = iter + 1;
+                if (shared != null && iterations % migrationInterval == 0) {
+                    migrate();
+                }
+                if (config.listener != null) {
+                    config.listener.onIteration(iterations, config.maxIterations, globalBestScore);
+                }
+
+                if (globalBestScore < lastImprovementScore - config.stagnationTolerance * Math.abs(lastImprovementScore)) {
+                    lastImprovementScore = globalBestScore;
+                    lastImprovementIter = iter;
+                } else if (config.stagnationWindow > 0 && iter - lastImprovementIter >= config.stagnationWindow) {
+                    if (level < levels - 1) {
+                        refine(pool);
+                        lastImprovementScore = globalBestScore;
+                        lastImprovementIter = iter;
+                    } else {
+                        reason = SwarmResult.StopReason.STAGNATION;
+                        break;
+                    }
+                }
+                if (config.diameterThreshold > 0 && diameter() < config.diameterThreshold) {
+                    if (level < levels - 1) {
+                        refine(pool);
+                        lastImprovementScore = globalBestScore;
+                        lastImprovementIter = iter;
+                    } else {
+                        reason = SwarmResult.StopReason.CONVERGED;
+                        break;
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    reason = SwarmResult.StopReason.TIME_BUDGET;
+                    break;
+                }
+                move(iter);
+            }
+            if (level < levels) {
+                level = levels;
+                rescoreBests(pool);
+            }
+        } finally {
+            if (migrationPhaser != null) migrationPhaser.arriveAndDeregister();
+        }
+        long elapsed = System.nanoTime() - start;
+        RUN_TIME.record(elapsed);
+        ITERATIONS.add(iterations);
+        EVALUATIONS.add(evaluations);
+        return new SwarmResult(globalBest.clone(), globalBestScore, iterations, evaluations, elapsed, reason);
+    }
+
+    /**
+     * Publish, wait for every island, read, wait again. The second barrier keeps a fast island
+     * from publishing its next best before a slow one has read this round's, so a seeded island
+     * run is reproducible.
+     */
+    private void migrate() {
+        shared.offer(globalBest, globalBestScore);
+        awaitIslands();
+        SharedBest.Position best = shared.get();
+        awaitIslands();
+        // Other islands may be scoring on a different sample; compare on ours.
+        double bestScore = best.score;
+        if (level < levels) {
+            bestScore = score(best.position, 0);
+            evaluations++;
+        }
+        if (bestScore >= globalBestScore) return;
+
+        int worst = 0;
+        for (int i = 1; i < particles; i++) {
+            if (scores[i] > scores[worst]) worst = i;
+        }
+        int base = worst * dims;
+        System.arraycopy(best.position, 0, positions, base, dims);
+        System.arraycopy(best.position, 0, bestPositions, base, dims);
+        Arrays.fill(velocities, base, base + dims, 0);
+        bestScores[worst] = bestScore;
+        scores[worst] = bestScore;
+        System.arraycopy(best.position, 0, globalBest, 0, dims);
+        globalBestScore = bestScore;
+    }
+
+    private void awaitIslands() {
+        try {
+            migrationPhaser.awaitAdvanceInterruptibly(migrationPhaser.arrive());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("PSO cancelled while waiting for other islands");
+        }
+    }
+
+    public double getGlobalBestScore() {
+        return globalBestScore;
+    }
+
+    /** Null for single-threaded runs, which evaluate on the calling thread. */
+    private static ForkJoinPool poolFor(int threads) {
+        if (threads <= 1) return null;
+        if (threads == ForkJoinPool.getCommonPoolParallelism()) return ForkJoinPool.commonPool();
+        return POOLS.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    private void evaluate(ForkJoinPool pool) {
+        if (pool == null) {
+            evaluateRange(0, particles);
+        } else {
+            pool.invoke(new EvaluateTask(0, particles, false));
+        }
+        evaluations += particles;
+    }
+
+    private void evaluateRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            int base = i * dims;
+            double score = score(positions, base);
+            scores[i] = score;
+            if (score < bestScores[i]) {
+                bestScores[i] = score;
+                System.arraycopy(positions, base, bestPositions, base, dims);
+            }
+        }
+    }
+
+    private double score(double[] position, int offset) {
+        return level < levels ? sampled.evaluate(position, offset, level) : fitness.evaluate(position, offset);
+    }
+
+    /** Moves up one sample level and rescores the personal bests on it. */
+    private void refine(ForkJoinPool pool) {
+        level++;
+        rescoreBests(pool);
+    }
+
+    /** Rescores every personal best at the current level and rebuilds the global best from them. */
+    private void rescoreBests(ForkJoinPool pool) {
+        if (pool == null) {
+            rescoreRange(0, particles);
+        } else {
+            pool.invoke(new EvaluateTask(0, particles, true));
+        }
+        evaluations += particles;
+        globalBestScore = Double.MAX_VALUE;
+        for (int i = 0; i < particles; i++) {
+            if (bestScores[i] < globalBestScore) {
+                globalBestScore = bestScores[i];
+                System.arraycopy(bestPositions, i * dims, globalBest, 0, dims);
+            }
+        }
+    }
+
+    private void rescoreRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            bestScores[i] = score(bestPositions, i * dims);
+        }
+    }
+
+    private void updateGlobalBest() {
+        for (int i = 0; i < particles; i++) {
+            if (scores[i] < globalBestScore) {
+                globalBestScore = scores[i];
+                System.arraycopy(positions, i * dims, globalBest, 0, dims);
+            }
+        }
+    }
+
+    /** Largest distance from any particle to the global best, each axis scaled by its initial range. */
+    private double diameter() {
+        double max = 0;
+        for (int i = 0; i < particles; i++) {
+            int base = i * dims;
+            for (int d = 0; d < dims; d++) {
+                double dist = Math.abs(positions[base + d] - globalBest[d]) / space.range(d);
+                if (dist > max) max = dist;
+            }
+        }
+        return max;
+    }
+
+    private void move(int iter) {
+        double w = config.inertia;
+        if (config.adaptiveInertia) {
+            double progress = config.maxIterations > 1 ? (double) iter / (config.maxIterations - 1) : 1;
+            w = config.inertiaStart + (config.inertiaEnd - config.inertiaStart) * progress;
+        }
+        double c1 = config.cognitive;
+        double c2 = config.social;
+        double clamp = config.maxVelocityFraction > 0 ? config.maxVelocityFraction : Double.MAX_VALUE;
+        for (int i = 0; i < particles; i++) {
+            double r1 = randoms[i].nextDouble();
+            double r2 = randoms[i].nextDouble();
+            int base = i * dims;
+            for (int d = 0; d < dims; d++) {
+                int k = base + d;
+                double x = positions[k];
+                double v = w * velocities[k] + c1 * r1 * (bestPositions[k] - x) + c2 * r2 * (globalBest[d] - x);
+                double maxVelocity = clamp * space.range(d);
+                v = Math.max(-maxVelocity, Math.min(maxVelocity, v));
+                velocities[k] = v;
+                positions[k] = x + v;
+            }
+        }
+    }
+
+    private class EvaluateTask extends RecursiveAction {
+        private final int from, to;
+        private final boolean bests;
+
+        EvaluateTask(int from, int to, boolean bests) {
+            this.from = from;
+            this.to = to;
+            this.bests = bests;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (bests) rescoreRange(from, to);
+                else evaluateRange(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(from, mid, bests), new EvaluateTask(mid, to, bests));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Streams project rows (KLOC, method, actual effort in the first three columns) out of an XLSX
+ * or CSV file without building a workbook in memory. XLSX sheets are parsed with SAX straight
+ * from the package, so heap use does not grow with the number of rows.
+ * <p>
+ * The first row is treated as a header, as the rest of the tool has always done.
+ */
+public final class ProjectReader {
+
+    private ProjectReader() {
+    }
+
+    public static void read(Path file, RowSink sink) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                readCsv(in, sink);
+            }
+            return;
+        }
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            readXlsx(pkg, sink);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not a readable XLSX file: " + file, e);
+        }
+    }
+
+    public static void readXlsx(InputStream in, RowSink sink) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(in)) {
+            readXlsx(pkg, sink);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not a readable XLSX stream", e);
+        }
+    }
+
+    private static void readXlsx(OPCPackage pkg, RowSink sink) throws IOException, OpenXML4JException {
+        XSSFReader reader = new XSSFReader(pkg);
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) throw new IOException("Workbook has no sheets");
+
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new SheetHandler(sink));
+            parser.parse(new InputSource(sheet));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to parse sheet: " + e.getMessage(), e);
+        }
+    }
+
+    public static void readCsv(Reader in, RowSink sink) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader br ? br : new BufferedReader(in);
+        double[] values = new double[3];
+        String line;
+        int rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (rowNumber == 1) continue; // Skip the header
+            if (line.isBlank()) continue;
+
+            int start = 0;
+            for (int col = 0; col < 3; col++) {
+                if (start > line.length()) {
+                    values[col] = Double.NaN;
+                    continue;
+                }
+                int end = line.indexOf(',', start);
+                if (end < 0) end = line.length();
+                values[col] = parseNumber(line, start, end);
+                start = end + 1;
+            }
+            sink.accept(rowNumber, values[0], values[1], values[2]);
+        }
+    }
+
+    private static double parseNumber(String line, int start, int end) {
+        while (start < end && (Character.isWhitespace(line.charAt(start)) || line.charAt(start) == '"')) start++;
+        while (end > start && (Character.isWhitespace(line.charAt(end - 1)) || line.charAt(end - 1) == '"')) end--;
+        if (start == end) return Double.NaN;
+        try {
+            return Double.parseDouble(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Minimal SAX handler over sheet XML. Only numeric cells in columns A-C are read; string,
+     * boolean and error cells are reported to the sink as missing.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+        private final RowSink sink;
+        private final double[] values = new double[3];
+        private final StringBuilder text = new StringBuilder();
+
+        private int rowNumber;
+        private int column;
+        private boolean numericCell;
+        private boolean collecting;
+
+        SheetHandler(RowSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (name(localName, qName)) {
+                case "dimension" -> {
+                    // ref="A1:C1001": the last row number, less the header row
+                    String ref = attributes.getValue("ref");
+                    int colon = ref == null ? -1 : ref.indexOf(':');
+                    if (colon > 0) sink.expectRows(rowIndex(ref.substring(colon + 1)) - 1);
+                }
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    values[0] = values[1] = values[2] = Double.NaN;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : column + 1;
+                    String type = attributes.getValue("t");
+                    numericCell = type == null || type.equals("n");
+                }
+                case "v" -> {
+                    collecting = true;
+                    text.setLength(0);
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (name(localName, qName)) {
+                case "v" -> {
+                    collecting = false;
+                    if (numericCell && column < 3) {
+                        try {
+                            values[column] = Double.parseDouble(text.toString());
+                        } catch (NumberFormatException e) {
+                            values[column] = Double.NaN;
+                        }
+                    }
+                }
+                case "row" -> {
+                    if (rowNumber > 1) sink.accept(rowNumber, values[0], values[1], values[2]);
+                }
+                default -> {
+                }
+            }
+        }
+
+        private static String name(String localName, String qName) {
+            return localName == null || localName.isEmpty() ? qName : localName;
+        }
+
+        private static int rowIndex(String ref) {
+            int row = 0;
+            for (int i = 0; i < ref.length(); i++) {
+                char ch = ref.charAt(i);
+                if (ch >= '0' && ch <= '9') row = row * 10 + (ch - '0');
+            }
+            return row;
+        }
+
+        private static int columnIndex(String ref) {
+            int col = 0;
+            for (int i = 0; i < ref.length(); i++) {
+                char ch = ref.charAt(i);
+                if (ch < 'A' || ch > 'Z') break;
+                col = col * 26 + (ch - 'A' + 1);
+            }
+            return col - 1;
+        }
+    }
+}
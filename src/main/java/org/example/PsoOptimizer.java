@@ -0,0 +1,29 @@
+package org.example;
+
+/**
+ * Particle swarm optimisation. Full-history fits run as an island model and, on large histories,
+ * score on progressive stratified samples (see {@link FittedModels#SAMPLED_FIT_ROWS}); fits over
+ * a subset of rows run one swarm, as configured.
+ */
+public final class PsoOptimizer implements Optimizer {
+
+    private static final double MEMO_TOLERANCE = 1e-6;
+
+    @Override
+    public String name() {
+        return "pso";
+    }
+
+    @Override
+    public SwarmResult minimize(VectorFitness fitness, SearchSpace space, SwarmConfig config) {
+        return new ParallelSwarm(fitness, space, config).optimize();
+    }
+
+    @Override
+    public SwarmResult fit(ColumnDataset dataset, SwarmConfig config) {
+        VectorFitness search = dataset.size() >= FittedModels.SAMPLED_FIT_ROWS
+                ? new MemoizedFitness(new SampledMmreFitness(dataset), 2, MEMO_TOLERANCE)
+                : VectorFitness.of(new MmreFitness(dataset));
+        return IslandSwarm.withDefaults(search, SearchSpace.COCOMO, config).optimize().best;
+    }
+}
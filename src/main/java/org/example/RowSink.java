@@ -0,0 +1,14 @@
+package org.example;
+
+/**
+ * Receives one project row at a time from {@link ProjectReader}. Cells that are blank or not
+ * numeric arrive as {@link Double#NaN}; deciding whether that makes the row invalid is up to the sink.
+ */
+@FunctionalInterface
+public interface RowSink {
+    void accept(int rowNumber, double kloc, double method, double actualEffort);
+
+    /** Called before the first row when the source knows roughly how many rows follow. */
+    default void expectRows(int rows) {
+    }
+}
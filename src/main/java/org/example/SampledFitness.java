@@ -0,0 +1,20 @@
+package org.example;
+
+/**
+ * A {@link VectorFitness} that can also score on nested-size samples of its data. Level 0 is the
+ * smallest sample and {@code levels() - 1} the largest; {@link #evaluate(double[], int)} always
+ * scores on the full data.
+ * <p>
+ * The sample level is passed in rather than held, so one instance can serve several swarms at
+ * different levels. {@link ParallelSwarm} starts at level 0 and moves up a level each time the
+ * swarm stalls, then rescores its personal bests on the full data before returning.
+ */
+public interface SampledFitness extends VectorFitness {
+
+    int levels();
+
+    /** Rows scored at {@code level}, for reporting. */
+    int sampleSize(int level);
+
+    double evaluate(double[] position, int offset, int level);
+}
@@ -0,0 +1,137 @@
+package org.example;
+
+/**
+ * MMRE of {@code effort = a * kloc^b * eaf} with stratified samples for {@link SampledFitness}.
+ * <p>
+ * Rows are bucketed by {@code log(kloc)} into equal-width strata in one pass, and every sample
+ * takes the same share of each stratum, so small and large projects stay represented in
+ * proportion and the sample MMRE is an unbiased estimate of the full one. Each sample is copied
+ * into its own contiguous columns so the scoring loop stays sequential. Samples grow by
+ * {@code GROWTH} from {@code minSample} up to {@code maxSample}; datasets too small to gain from
+ * sampling get no sample levels at all.
+ */
+public final class SampledMmreFitness implements SampledFitness {
+
+    public static final int DEFAULT_MIN_SAMPLE = 4096;
+    public static final int DEFAULT_MAX_SAMPLE = 65_536;
+
+    private static final int STRATA = 64;
+    private static final int GROWTH = 4;
+
+    private final MmreFitness full;
+    private final Sample[] samples;
+
+    public SampledMmreFitness(ColumnDataset dataset) {
+        this(dataset, DEFAULT_MIN_SAMPLE, DEFAULT_MAX_SAMPLE);
+    }
+
+    public SampledMmreFitness(ColumnDataset dataset, int minSample, int maxSample) {
+        if (minSample < 1 || maxSample < minSample) throw new IllegalArgumentException("Need 1 <= minSample <= maxSample");
+        this.full = new MmreFitness(dataset);
+        int n = dataset.size();
+        int levels = 0;
+        // Only sample sizes at most half the data are worth a level of their own.
+        for (long size = minSample; size <= maxSample && size * 2 <= n; size *= GROWTH) levels++;
+        this.samples = new Sample[levels];
+        if (levels == 0) return;
+
+        int[][] strata = stratify(dataset);
+        long size = minSample;
+        for (int level = 0; level < levels; level++, size *= GROWTH) {
+            samples[level] = new Sample(dataset, strata, (int) size);
+        }
+    }
+
+    @Override
+    public int levels() {
+        return samples.length;
+    }
+
+    @Override
+    public int sampleSize(int level) {
+        return samples[level].logKlocs.length;
+    }
+
+    @Override
+    public double evaluate(double[] position, int offset) {
+        return full.evaluate(position[offset], position[offset + 1]);
+    }
+
+    @Override
+    public double evaluate(double[] position, int offset, int level) {
+        return samples[level].evaluate(position[offset], position[offset + 1]);
+    }
+
+    /** Row indices grouped into equal-width {@code log(kloc)} buckets, each in input order. */
+    private static int[][] stratify(ColumnDataset dataset) {
+        double[] logKlocs = dataset.logKlocs;
+        int n = logKlocs.length;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (double x : logKlocs) {
+            if (x < min) min = x;
+            if (x > max) max = x;
+        }
+        double scale = max > min ? STRATA / (max - min) : 0;
+        int[] bucketOf = new int[n];
+        int[] counts = new int[STRATA];
+        for (int i = 0; i < n; i++) {
+            int b = Math.min(STRATA - 1, (int) ((logKlocs[i] - min) * scale));
+            bucketOf[i] = b;
+            counts[b]++;
+        }
+        int[][] strata = new int[STRATA][];
+        for (int b = 0; b < STRATA; b++) strata[b] = new int[counts[b]];
+        int[] fill = new int[STRATA];
+        for (int i = 0; i < n; i++) {
+            int b = bucketOf[i];
+            strata[b][fill[b]++] = i;
+        }
+        return strata;
+    }
+
+    private static final class Sample {
+        final double[] logKlocs;
+        final double[] eafs;
+        final double[] actualEfforts;
+        final double[] inverseEfforts;
+
+        Sample(ColumnDataset dataset, int[][] strata, int target) {
+            int n = dataset.size();
+            int size = 0;
+            int[] take = new int[strata.length];
+            for (int b = 0; b < strata.length; b++) {
+                // Proportional allocation, at least one row from every non-empty stratum.
+                take[b] = strata[b].length == 0 ? 0
+                        : (int) Math.max(1, Math.round((double) strata[b].length * target / n));
+                size += take[b];
+            }
+            logKlocs = new double[size];
+            eafs = new double[size];
+            actualEfforts = new double[size];
+            inverseEfforts = new double[size];
+            int k = 0;
+            for (int b = 0; b < strata.length; b++) {
+                int[] rows = strata[b];
+                // Evenly spaced picks through the stratum.
+                for (int j = 0; j < take[b]; j++) {
+                    int r = rows[(int) ((j + 0.5) * rows.length / take[b])];
+                    logKlocs[k] = dataset.logKlocs[r];
+                    eafs[k] = dataset.eafs[r];
+                    actualEfforts[k] = dataset.actualEfforts[r];
+                    inverseEfforts[k] = dataset.inverseEfforts[r];
+                    k++;
+                }
+            }
+        }
+
+        double evaluate(double a, double b) {
+            int n = logKlocs.length;
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                double predicted = a * Math.exp(b * logKlocs[i]) * eafs[i];
+                sum += Math.abs(actualEfforts[i] - predicted) * inverseEfforts[i];
+            }
+            return sum / n;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example;
+
+/**
+ * Initial search box for the swarm, one {@code [lower, upper]} interval per dimension. Particles
+ * start uniformly inside the box and velocities are clamped relative to its width; the box is
+ * not a hard constraint.
+ */
+public final class SearchSpace {
+
+    /** The original (A, B) box: A in [1, 11], B in [0.5, 1.5]. */
+    public static final SearchSpace COCOMO = new SearchSpace(new double[]{1, 0.5}, new double[]{11, 1.5});
+
+    private final double[] lower;
+    private final double[] upper;
+
+    public SearchSpace(double[] lower, double[] upper) {
+        if (lower.length != upper.length || lower.length == 0) {
+            throw new IllegalArgumentException("Bounds must be non-empty and of equal length");
+        }
+        for (int d = 0; d < lower.length; d++) {
+            if (!(upper[d] > lower[d])) throw new IllegalArgumentException("Empty interval in dimension " + d);
+        }
+        this.lower = lower.clone();
+        this.upper = upper.clone();
+    }
+
+    public int dimensions() {
+        return lower.length;
+    }
+
+    public double lower(int d) {
+        return lower[d];
+    }
+
+    public double upper(int d) {
+        return upper[d];
+    }
+
+    public double range(int d) {
+        return upper[d] - lower[d];
+    }
+}
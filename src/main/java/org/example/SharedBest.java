@@ -0,0 +1,45 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free global best shared between swarm islands. Ties on score are broken on position so
+ * the winner does not depend on which island published first.
+ */
+public final class SharedBest {
+
+    public static final class Position {
+        public final double[] position;
+        public final double score;
+
+        Position(double[] position, double score) {
+            this.position = position;
+            this.score = score;
+        }
+
+        boolean isBetterThan(Position other) {
+            if (score != other.score) return score < other.score;
+            for (int d = 0; d < position.length; d++) {
+                if (position[d] != other.position[d]) return position[d] < other.position[d];
+            }
+            return false;
+        }
+    }
+
+    private final AtomicReference<Position> best =
+            new AtomicReference<>(new Position(new double[0], Double.MAX_VALUE));
+
+    /** Publishes a copy of {@code position} if it beats the current best. */
+    public void offer(double[] position, double score) {
+        Position candidate = new Position(position.clone(), score);
+        Position current = best.get();
+        while (candidate.isBetterThan(current)) {
+            if (best.compareAndSet(current, candidate)) return;
+            current = best.get();
+        }
+    }
+
+    public Position get() {
+        return best.get();
+    }
+}
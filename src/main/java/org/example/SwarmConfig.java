@@ -0,0 +1,98 @@
+package org.example;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Settings for {@link ParallelSwarm}. Swarm size, iteration cap and acceleration constants
+ * default to the original PSO; the convergence controls default to stopping once the swarm
+ * has clearly settled.
+ */
+public class SwarmConfig {
+    public int numParticles = 30;
+    public int maxIterations = 100;
+    public long seed = ThreadLocalRandom.current().nextLong();
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Fixed inertia, used when {@link #adaptiveInertia} is off. */
+    public double inertia = 0.5;
+    public double cognitive = 1.5;
+    public double social = 1.5;
+
+    /** Linearly decrease inertia from {@link #inertiaStart} to {@link #inertiaEnd} over the run. */
+    public boolean adaptiveInertia = true;
+    public double inertiaStart = 0.9;
+    public double inertiaEnd = 0.4;
+
+    /** Velocity limit per step as a fraction of the initial search range; 0 disables clamping. */
+    public double maxVelocityFraction = 0.2;
+
+    /** Stop when the best score has not improved by {@link #stagnationTolerance} (relative) for this many iterations; 0 disables. */
+    public int stagnationWindow = 20;
+    public double stagnationTolerance = 1e-4;
+
+    /** Stop when every particle is within this normalised distance of the global best; 0 disables. */
+    public double diameterThreshold = 1e-6;
+
+    /** Wall-clock budget for the whole run; 0 means unlimited. Runs cut short by it are not reproducible. */
+    public long timeBudgetMillis = 0;
+
+    /**
+     * Optional known-good positions, such as the previous fit's optimum or an analytic estimate.
+     * The first {@link #warmStartFraction} of the swarm starts around them, one exactly on each
+     * and the rest jittered by up to {@link #warmStartSpread} of the search range per dimension;
+     * the remaining particles start at random to keep exploring.
+     */
+    public double[][] warmStarts;
+    public double warmStartFraction = 0.3;
+    public double warmStartSpread = 0.05;
+
+    /** Optional progress callback; null means no reporting. */
+    public SwarmListener listener;
+
+    public SwarmConfig() {
+    }
+
+    public SwarmConfig(int numParticles, int maxIterations, long seed) {
+        this.numParticles = numParticles;
+        this.maxIterations = maxIterations;
+        this.seed = seed;
+    }
+
+    /**
+     * The original PSO: exactly {@code maxIterations} iterations at constant inertia, with no
+     * velocity clamp and no early stop.
+     */
+    public static SwarmConfig classic(int numParticles, int maxIterations, long seed) {
+        SwarmConfig c = new SwarmConfig(numParticles, maxIterations, seed);
+        c.adaptiveInertia = false;
+        c.maxVelocityFraction = 0;
+        c.stagnationWindow = 0;
+        c.diameterThreshold = 0;
+        return c;
+    }
+
+    /** Field-by-field copy, including the listener and warm starts. */
+    public SwarmConfig copy() {
+        SwarmConfig c = new SwarmConfig(numParticles, maxIterations, seed);
+        c.threads = threads;
+        c.inertia = inertia;
+        c.cognitive = cognitive;
+        c.social = social;
+        c.adaptiveInertia = adaptiveInertia;
+        c.inertiaStart = inertiaStart;
+        c.inertiaEnd = inertiaEnd;
+        c.maxVelocityFraction = maxVelocityFraction;
+        c.stagnationWindow = stagnationWindow;
+        c.stagnationTolerance = stagnationTolerance;
+        c.diameterThreshold = diameterThreshold;
+        c.timeBudgetMillis = timeBudgetMillis;
+        if (warmStarts != null) {
+            c.warmStarts = new double[warmStarts.length][];
+            for (int i = 0; i < warmStarts.length; i++) c.warmStarts[i] = warmStarts[i].clone();
+        }
+        c.warmStartFraction = warmStartFraction;
+        c.warmStartSpread = warmStartSpread;
+        c.listener = listener;
+        return c;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example;
+
+/**
+ * Per-iteration callback from {@link ParallelSwarm}, invoked on the thread running the swarm.
+ */
+@FunctionalInterface
+public interface SwarmListener {
+    void onIteration(int iteration, int maxIterations, double globalBestScore);
+}
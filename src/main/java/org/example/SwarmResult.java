@@ -0,0 +1,44 @@
+package org.example;
+
+/**
+ * Outcome of a {@link ParallelSwarm} or other {@link Optimizer} run: the best position, its
+ * score, and what the run cost.
+ */
+public final class SwarmResult {
+
+    public enum StopReason {
+        MAX_ITERATIONS, STAGNATION, CONVERGED, TIME_BUDGET
+    }
+
+    /** Best position found; {@link #a} and {@link #b} are its first two coordinates. */
+    public final double[] position;
+    public final double a;
+    public final double b;
+    public final double score;
+    public final int iterations;
+    public final long evaluations;
+    public final long elapsedNanos;
+    public final StopReason stopReason;
+
+    public SwarmResult(double[] position, double score, int iterations, long evaluations,
+                       long elapsedNanos, StopReason stopReason) {
+        this.position = position;
+        this.a = position[0];
+        this.b = position.length > 1 ? position[1] : Double.NaN;
+        this.score = score;
+        this.iterations = iterations;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+        this.stopReason = stopReason;
+    }
+
+    public Particle toParticle() {
+        return new Particle(a, b);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("stopped by %s after %d iterations, %d evaluations, %.1f ms",
+                stopReason, iterations, evaluations, elapsedNanos / 1e6);
+    }
+}
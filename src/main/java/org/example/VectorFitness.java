@@ -0,0 +1,15 @@
+package org.example;
+
+/**
+ * Scores an N-dimensional candidate stored at {@code position[offset .. offset + dimensions)};
+ * lower is better. The swarm keeps all particles in one flat array, so implementations must read
+ * through the offset rather than copying, and must be safe to call from several threads.
+ */
+@FunctionalInterface
+public interface VectorFitness {
+    double evaluate(double[] position, int offset);
+
+    static VectorFitness of(FitnessFunction fitness) {
+        return (position, offset) -> fitness.evaluate(position[offset], position[offset + 1]);
+    }
+}
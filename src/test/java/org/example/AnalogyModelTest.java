@@ -0,0 +1,96 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalogyModelTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void predictMatchesBruteForce() {
+        ColumnDataset dataset = randomHistory(2_000, 1);
+        SplittableRandom random = new SplittableRandom(2);
+        for (int k : new int[]{1, 3, 7}) {
+            AnalogyModel model = AnalogyModel.fit(dataset, null, k);
+            for (int q = 0; q < 500; q++) {
+                double kloc = random.nextDouble(0, 600);
+                double method = random.nextDouble(10, 50);
+                assertEquals(bruteForce(dataset, null, k, kloc, method, -1), model.predict(kloc, method), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void subsetAndExclusionMatchBruteForce() {
+        ColumnDataset dataset = randomHistory(1_000, 3);
+        int[] rows = IntStream.range(0, dataset.size()).filter(i -> i % 3 != 0).toArray();
+        AnalogyModel model = AnalogyModel.fit(dataset, rows, AnalogyModel.DEFAULT_K);
+        for (int r : rows) {
+            double expected = bruteForce(dataset, rows, AnalogyModel.DEFAULT_K, dataset.kloc(r), dataset.method(r), r);
+            assertEquals(expected, model.predictExcluding(dataset.kloc(r), dataset.method(r), r), TOLERANCE);
+        }
+    }
+
+    @Test
+    void leaveOneOutMatchesBruteForce() {
+        ColumnDataset dataset = randomHistory(300, 4);
+        AnalogyModel model = AnalogyModel.fit(dataset);
+        double[] predictions = model.leaveOneOutPredictions();
+        double mre = 0;
+        for (int i = 0; i < dataset.size(); i++) {
+            double expected = bruteForce(dataset, null, AnalogyModel.DEFAULT_K, dataset.kloc(i), dataset.method(i), i);
+            assertEquals(expected, predictions[i], TOLERANCE);
+            mre += Math.abs(dataset.actualEffort(i) - expected) / dataset.actualEffort(i);
+        }
+        assertEquals(mre / dataset.size(), model.leaveOneOutMmre(), TOLERANCE);
+    }
+
+    /** Mean effort of the k nearest rows by a full scan, with the same min-max normalisation. */
+    private static double bruteForce(ColumnDataset dataset, int[] rows, int k, double kloc, double method, int excluded) {
+        int[] candidates = rows != null ? rows : IntStream.range(0, dataset.size()).toArray();
+        double kMin = Double.POSITIVE_INFINITY, kMax = Double.NEGATIVE_INFINITY;
+        double mMin = Double.POSITIVE_INFINITY, mMax = Double.NEGATIVE_INFINITY;
+        for (int r : candidates) {
+            kMin = Math.min(kMin, dataset.kloc(r));
+            kMax = Math.max(kMax, dataset.kloc(r));
+            mMin = Math.min(mMin, dataset.method(r));
+            mMax = Math.max(mMax, dataset.method(r));
+        }
+        double kScale = kMax > kMin ? 1 / (kMax - kMin) : 0;
+        double mScale = mMax > mMin ? 1 / (mMax - mMin) : 0;
+        double x = (kloc - kMin) * kScale;
+        double y = (method - mMin) * mScale;
+        double[] distances = new double[dataset.size()];
+        for (int r : candidates) {
+            double dx = (dataset.kloc(r) - kMin) * kScale - x;
+            double dy = (dataset.method(r) - mMin) * mScale - y;
+            distances[r] = dx * dx + dy * dy;
+        }
+        Integer[] nearest = Arrays.stream(candidates).filter(r -> r != excluded).boxed().toArray(Integer[]::new);
+        Arrays.sort(nearest, Comparator.comparingDouble(r -> distances[r]));
+        int count = Math.min(k, nearest.length);
+        double sum = 0;
+        for (int i = 0; i < count; i++) sum += dataset.actualEffort(nearest[i]);
+        return sum / count;
+    }
+
+    private static ColumnDataset randomHistory(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] klocs = new double[n];
+        double[] methods = new double[n];
+        double[] efforts = new double[n];
+        for (int i = 0; i < n; i++) {
+            klocs[i] = random.nextDouble(1, 500);
+            methods[i] = random.nextDouble(15, 45);
+            efforts[i] = random.nextDouble(5, 2_000);
+        }
+        return new ColumnDataset(klocs, methods, efforts);
+    }
+}
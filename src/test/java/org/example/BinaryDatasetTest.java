@@ -0,0 +1,81 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryDatasetTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        ColumnDataset dataset = new ColumnDataset(
+                new double[]{12.5, 40, 3.25, 100},
+                new double[]{30, 25, 0, 45},
+                new double[]{55.5, 160, 9.75, 410});
+        Path file = dir.resolve("history" + BinaryDataset.EXTENSION);
+        BinaryDataset.Source source = new BinaryDataset.Source(1234, 0xCAFEL);
+        BinaryDataset.write(dataset, file, source);
+
+        ColumnDataset read = BinaryDataset.read(file);
+        assertArrayEquals(dataset.klocs(), read.klocs());
+        assertArrayEquals(dataset.methods(), read.methods());
+        assertArrayEquals(dataset.actualEfforts(), read.actualEfforts());
+        assertEquals(dataset.fingerprint(), read.fingerprint());
+        assertEquals(source, BinaryDataset.source(file));
+    }
+
+    @Test
+    void rejectsCorruptedPayload() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x10;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> BinaryDataset.read(file));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+
+        assertThrows(IOException.class, () -> BinaryDataset.read(file));
+    }
+
+    @Test
+    void sourceStampTracksContentNotModificationTime() throws IOException {
+        Path csv = dir.resolve("history.csv");
+        Files.writeString(csv, "KLOC,Method,Effort\n10,30,20\n");
+        BinaryDataset.Source before = BinaryDataset.Source.of(csv);
+        FileTime modified = Files.getLastModifiedTime(csv);
+
+        Files.writeString(csv, "KLOC,Method,Effort\n10,30,21\n");
+        Files.setLastModifiedTime(csv, modified);
+        assertNotEquals(before, BinaryDataset.Source.of(csv));
+        assertNull(BinaryDataset.source(csv));
+    }
+
+    private Path writeSample() throws IOException {
+        ColumnDataset dataset = new ColumnDataset(new double[]{1, 2, 3}, new double[]{30, 30, 30}, new double[]{4, 5, 6});
+        Path file = dir.resolve("sample" + BinaryDataset.EXTENSION);
+        BinaryDataset.write(dataset, file);
+        return file;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrossValidatorTest {
+
+    private static final int N = 53;
+
+    @Test
+    void kFoldNeverTrainsOnItsTestRows() {
+        List<CrossValidator.Fold> folds = CrossValidator.kFoldSplits(N, 10, 42);
+        int[] timesTested = new int[N];
+        for (CrossValidator.Fold fold : folds) {
+            assertDisjointPartition(fold);
+            for (int r : fold.test()) timesTested[r]++;
+        }
+        for (int r = 0; r < N; r++) assertEquals(1, timesTested[r], "row " + r + " tested once");
+    }
+
+    @Test
+    void leaveOneOutNeverTrainsOnItsTestRow() {
+        List<CrossValidator.Fold> folds = CrossValidator.leaveOneOutSplits(N);
+        assertEquals(N, folds.size());
+        for (int i = 0; i < N; i++) {
+            CrossValidator.Fold fold = folds.get(i);
+            assertDisjointPartition(fold);
+            assertEquals(1, fold.test().length);
+            assertEquals(i, fold.test()[0]);
+        }
+    }
+
+    @Test
+    void randomSplitsNeverTrainOnTheirTestRows() {
+        List<CrossValidator.Fold> folds = CrossValidator.randomSplits(N, 20, 0.3, 7);
+        assertEquals(20, folds.size());
+        for (CrossValidator.Fold fold : folds) {
+            assertDisjointPartition(fold);
+            assertEquals(Math.round(N * 0.3), fold.test().length);
+        }
+    }
+
+    /** Test and training rows are disjoint and together cover every row exactly once. */
+    private static void assertDisjointPartition(CrossValidator.Fold fold) {
+        boolean[] inTest = new boolean[N];
+        for (int r : fold.test()) {
+            assertFalse(inTest[r], "row " + r + " repeated in the test set");
+            inTest[r] = true;
+        }
+        boolean[] seen = inTest.clone();
+        for (int r : fold.train()) {
+            assertFalse(inTest[r], "test row " + r + " in the training set");
+            assertFalse(seen[r], "row " + r + " repeated in the training set");
+            seen[r] = true;
+        }
+        for (int r = 0; r < N; r++) assertTrue(seen[r], "row " + r + " missing from the fold");
+    }
+}
@@ -0,0 +1,79 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FutureCacheTest {
+
+    @Test
+    void concurrentGetsForOneKeyComputeOnce() throws Exception {
+        FutureCache<String, Object> cache = new FutureCache<>(4, null, null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("history", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                    return new Object();
+                })));
+            }
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100); // let the other callers reach the pending future
+            release.countDown();
+
+            Object first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKey() throws Exception {
+        FutureCache<String, String> cache = new FutureCache<>(2, null, null);
+        AtomicInteger loads = new AtomicInteger();
+        FutureCache.Loader<String> loader = () -> "v" + loads.incrementAndGet();
+
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader);   // a is now more recent than b
+        cache.get("c", loader);   // evicts b
+        assertEquals(3, loads.get());
+
+        assertEquals("v1", cache.get("a", loader));
+        assertEquals(3, loads.get());
+        cache.get("b", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void failedLoadIsNotCached() throws Exception {
+        FutureCache<String, String> cache = new FutureCache<>(2, null, null);
+        assertThrows(IllegalStateException.class, () -> cache.get("a", () -> {
+            throw new IllegalStateException("fit failed");
+        }));
+        assertEquals("ok", cache.get("a", () -> "ok"));
+    }
+}
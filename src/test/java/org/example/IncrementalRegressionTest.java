@@ -0,0 +1,86 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalRegressionTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void addMatchesBatchFit() {
+        double[][] data = history(500, 1);
+        IncrementalRegression incremental = new IncrementalRegression();
+        for (int i = 0; i < data[0].length; i++) incremental.add(data[0][i], data[1][i]);
+
+        assertSameLine(IncrementalRegression.fit(data[0], data[1]), incremental);
+    }
+
+    @Test
+    void removeMatchesBatchFitOfRemainingRows() {
+        double[][] data = history(500, 2);
+        IncrementalRegression incremental = IncrementalRegression.fit(data[0], data[1]);
+        for (int i = 0; i < 200; i++) incremental.remove(data[0][i], data[1][i]);
+
+        double[] klocs = Arrays.copyOfRange(data[0], 200, 500);
+        double[] efforts = Arrays.copyOfRange(data[1], 200, 500);
+        assertSameLine(IncrementalRegression.fit(klocs, efforts), incremental);
+    }
+
+    @Test
+    void slidingWindowMatchesBatchFitOfLastRows() {
+        double[][] data = history(1000, 3);
+        IncrementalRegression windowed = new IncrementalRegression(100);
+        for (int i = 0; i < data[0].length; i++) windowed.add(data[0][i], data[1][i]);
+
+        double[] klocs = Arrays.copyOfRange(data[0], 900, 1000);
+        double[] efforts = Arrays.copyOfRange(data[1], 900, 1000);
+        assertSameLine(IncrementalRegression.fit(klocs, efforts), windowed);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        double[][] data = history(50, 4);
+        IncrementalRegression original = IncrementalRegression.fit(data[0], data[1]);
+        IncrementalRegression copy = original.copy();
+        copy.add(1_000, 5);
+
+        assertSameLine(IncrementalRegression.fit(data[0], data[1]), original);
+        assertEquals(51, copy.getCount());
+    }
+
+    @Test
+    void staysAccurateOnLargeOffsets() {
+        // Raw sums of squares lose every significant digit here; running co-moments do not.
+        double[][] data = history(1000, 5);
+        double[] klocs = data[0].clone();
+        for (int i = 0; i < klocs.length; i++) klocs[i] += 1e8;
+        IncrementalRegression incremental = new IncrementalRegression();
+        for (int i = 0; i < klocs.length; i++) incremental.add(klocs[i], data[1][i]);
+
+        IncrementalRegression reference = IncrementalRegression.fit(data[0], data[1]);
+        assertEquals(reference.getSlope(), incremental.getSlope(), 1e-6 * Math.abs(reference.getSlope()));
+    }
+
+    /** KLOC in [1, 200) and effort roughly 3 * KLOC + 10 with multiplicative noise. */
+    private static double[][] history(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] klocs = new double[n];
+        double[] efforts = new double[n];
+        for (int i = 0; i < n; i++) {
+            klocs[i] = random.nextDouble(1, 200);
+            efforts[i] = (3 * klocs[i] + 10) * random.nextDouble(0.7, 1.3);
+        }
+        return new double[][]{klocs, efforts};
+    }
+
+    private static void assertSameLine(IncrementalRegression expected, IncrementalRegression actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSlope(), actual.getSlope(), TOLERANCE * Math.abs(expected.getSlope()));
+        assertEquals(expected.getIntercept(), actual.getIntercept(), TOLERANCE * Math.max(1, Math.abs(expected.getIntercept())));
+    }
+}